@@ -0,0 +1,184 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * Statements per second through Hikari and MySQL Connector/J. "base" uses the query parameters
+ * of spring.datasource.url in application.properties, as every profile does; "prod" adds the
+ * driver settings of application-prod.properties on top. Runs against an embedded MariaDB started
+ * by the benchmark itself, so no MySQL server or container is needed:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=JdbcDriverSettingsBenchmark}
+ * <p>
+ * selectById prepares and runs one primary-key lookup per connection checkout, like a
+ * repository call; insertBatch sends 50 inserts as one JDBC batch, like a Hibernate flush.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcDriverSettingsBenchmark {
+    private static final String BASE_PROPERTIES = "application.properties";
+    private static final String PROD_PROPERTIES = "application-prod.properties";
+    private static final String URL_PROPERTY = "spring.datasource.url";
+    private static final String DRIVER_PROPERTY_PREFIX = "spring.datasource.hikari.data-source-properties.";
+    private static final int ROWS = 10_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"base", "prod"})
+    public String settings;
+
+    private DB db;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0); // any free port
+        config.addArg("--user=root"); // lets mariadbd start as root (CI, containers); ignored otherwise
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+        // Through Connector/J, the driver production uses (getURL would pick the MariaDB driver)
+        String server = "jdbc:mysql://localhost:" + db.getConfiguration().getPort() + "/";
+        // Over JDBC rather than DB.createDB, which needs the mariadb command-line client and its libraries
+        try (Connection connection = DriverManager.getConnection(server, "root", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE bench");
+        }
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setJdbcUrl(server + "bench" + baseUrlParameters());
+        hikari.setUsername("root");
+        hikari.setMaximumPoolSize(1);
+        if ("prod".equals(settings)) {
+            prodDriverProperties().forEach((name, value) -> hikari.addDataSourceProperty((String) name, value));
+        }
+        dataSource = new HikariDataSource(hikari);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE device (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                    "order_id BIGINT, brand VARCHAR(50), model VARCHAR(50), status VARCHAR(50), received_date DATE NOT NULL)");
+            statement.execute("CREATE TABLE device_intake LIKE device");
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            insertBatches(connection, "device", ROWS);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyIntakeTable() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE device_intake");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws Exception {
+        dataSource.close();
+        db.stop();
+    }
+
+    @Benchmark
+    public String selectById() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, order_id, brand, model, status, received_date FROM device WHERE id = ?")) {
+            select.setLong(1, ThreadLocalRandom.current().nextLong(1, ROWS + 1));
+            try (ResultSet row = select.executeQuery()) {
+                return row.next() ? row.getString("status") : null;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            insertBatches(connection, "device_intake", BATCH_SIZE);
+        }
+    }
+
+    private static void insertBatches(Connection connection, String table, int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (order_id, brand, model, status, received_date) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setLong(1, i / 10 + 1);
+                insert.setString(2, "HP");
+                insert.setString(3, "ProBook " + i);
+                insert.setString(4, "PRELUAT");
+                insert.setDate(5, Date.valueOf(LocalDate.now()));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    // "?rewriteBatchedStatements=true" and the like, or "" when the URL has no parameters
+    private static String baseUrlParameters() throws IOException {
+        String url = load(BASE_PROPERTIES).getProperty(URL_PROPERTY);
+        if (url == null) {
+            throw new IllegalStateException(URL_PROPERTY + " not set in " + BASE_PROPERTIES);
+        }
+        int query = url.indexOf('?');
+        return query < 0 ? "" : url.substring(query);
+    }
+
+    private static Properties prodDriverProperties() throws IOException {
+        Properties profile = load(PROD_PROPERTIES);
+        Properties driver = new Properties();
+        profile.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(DRIVER_PROPERTY_PREFIX))
+                .forEach(name -> driver.setProperty(name.substring(DRIVER_PROPERTY_PREFIX.length()), profile.getProperty(name)));
+        return driver;
+    }
+
+    private static Properties load(String resource) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = JdbcDriverSettingsBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException(resource + " not found on the classpath");
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of authenticating one request in JwtAuthFilter.
+ * threeParses is the old filter (username, validate, role), singleParse is one verification
+ * without the cache and cachedVerify is a repeat request from the same session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(10_000);
+        token = jwtUtil.generateToken("technician", "ADMIN", "technician@example.com", 42L);
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.parseVerified(token).username());
+        blackhole.consume(jwtUtil.parseVerified(token));
+        blackhole.consume(jwtUtil.parseVerified(token).role());
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return jwtUtil.parseVerified(token);
+    }
+
+    @Benchmark
+    public JwtClaims cachedVerify() {
+        return jwtUtil.verify(token).orElseThrow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Top-10 prefix lookup for client autocomplete over 50,000 clients with the keys
+ * ClientAutocompleteIndex builds (name, surname, full name both ways, phone in two forms).
+ * trie is PrefixTrie.collect, scan walks all keys with startsWith as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixTrieBenchmark {
+    private static final int CLIENTS = 50_000;
+    private static final int LIMIT = 10;
+    private static final String[] SYLLABLES = {"a", "an", "ba", "ca", "da", "el", "es", "cu", "ion", "ma",
+            "ne", "pa", "po", "ra", "ri", "sa", "te", "u", "va", "vi"};
+
+    @Param({"p", "pop", "popesc", "0722"})
+    public String prefix;
+
+    private final PrefixTrie trie = new PrefixTrie();
+    private final List<String> keys = new ArrayList<>();
+    private final List<Long> keyIds = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (long id = 1; id <= CLIENTS; id++) {
+            String name = word(random);
+            String surname = word(random);
+            String phone = "07" + (10_000_000 + random.nextInt(90_000_000));
+            for (String key : List.of(name, surname, name + " " + surname, surname + " " + name,
+                    phone, "40" + phone.substring(1))) {
+                trie.add(key, id);
+                keys.add(key);
+                keyIds.add(id);
+            }
+        }
+    }
+
+    @Benchmark
+    public Set<Long> trie() {
+        Set<Long> ids = new LinkedHashSet<>();
+        trie.collect(prefix, LIMIT, ids);
+        return ids;
+    }
+
+    @Benchmark
+    public Set<Long> scan() {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (int i = 0; i < keys.size() && ids.size() < LIMIT; i++) {
+            if (keys.get(i).startsWith(prefix)) {
+                ids.add(keyIds.get(i));
+            }
+        }
+        return ids;
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+}
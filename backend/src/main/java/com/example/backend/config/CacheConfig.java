@@ -1,17 +1,43 @@
 package com.example.backend.config;
 
+import java.util.List;
+
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
 
+/**
+ * Caffeine caches, each bounded in size and expiring after write. Specs come from
+ * app.cache.spec.&lt;name&gt; (falling back to app.cache.default-spec) in Caffeine spec syntax.
+ * Statistics are always recorded so hit ratios show up under /actuator/metrics/cache.gets.
+ * Cached values are DTO snapshots, never managed entities.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
+    public static final List<String> CACHE_NAMES = List.of("devices", "clients", "orders", "accessories", "users");
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
 
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("devices", "clients", "orders", "accessories", "users");
+    public CacheManager cacheManager(Environment environment) {
+        String defaultSpec = environment.getProperty("app.cache.default-spec", DEFAULT_SPEC);
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+        // Fixed set of caches: a typo in a cache name fails fast instead of creating an unbounded one
+        cacheManager.setCacheNames(CACHE_NAMES);
+        for (String name : CACHE_NAMES) {
+            String spec = environment.getProperty("app.cache.spec." + name, defaultSpec);
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+        }
+        // Puts and evictions inside a transaction are applied only after it commits
+        return new TransactionAwareCacheManagerProxy(cacheManager);
     }
 }
@@ -0,0 +1,43 @@
+package com.example.backend.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the db/migration scripts after Hibernate instead of before it. ddl-auto=update still
+ * owns tables and columns, so the migrations (indexes, seed rows) need the schema to exist;
+ * on a fresh database they would otherwise run against empty tables that are not there yet.
+ */
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    // Boot would migrate as soon as Flyway is created, ahead of the entity manager factory
+    @Bean
+    public FlywayMigrationStrategy deferredMigrationStrategy() {
+        return flyway -> {};
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public FlywayMigrationRunner flywayMigrationRunner(ObjectProvider<Flyway> flyway) {
+        return new FlywayMigrationRunner(flyway.getIfAvailable());
+    }
+
+    public static class FlywayMigrationRunner {
+        FlywayMigrationRunner(Flyway flyway) {
+            if (flyway == null) {
+                log.info("Flyway disabled, db/migration not applied");
+                return;
+            }
+            int applied = flyway.migrate().migrationsExecuted;
+            log.info("Flyway applied {} migration(s)", applied);
+        }
+    }
+}
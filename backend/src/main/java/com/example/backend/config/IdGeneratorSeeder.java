@@ -0,0 +1,43 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.domain.IdGenerators;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes sure every id_generator row is at least the highest id already in its table, before
+ * the first insert (Hibernate stores the last id handed out, not the next one). Rows written while ids were IDENTITY-generated would otherwise collide with
+ * the first blocks handed out. Safe to run on every start: values are only ever raised.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // schema (and id_generator) exists once the factory is up
+@RequiredArgsConstructor
+public class IdGeneratorSeeder {
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void seed() {
+        for (String table : IdGenerators.TABLES) {
+            String lastUsed = "(SELECT COALESCE(MAX(id), 0) FROM " + table + ")";
+            int inserted = jdbcTemplate.update(
+                    "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") " +
+                    "SELECT ?, " + lastUsed + " FROM (SELECT 1) AS one " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?)",
+                    table, table);
+            int raised = jdbcTemplate.update(
+                    "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = " + lastUsed + " " +
+                    "WHERE " + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < " + lastUsed,
+                    table);
+            if (inserted > 0 || raised > 0) {
+                log.info("Seeded id generator for {} above the existing ids", table);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.backend.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks on startup that the indexes the hot queries rely on (db/migration and the entity
+ * @Index declarations) exist with the expected columns. Without them the order list, dashboard
+ * counts and order log fall back to full scans, which only shows once the tables grow, and
+ * client search fails outright. Mode WARN logs what is missing, FAIL stops startup, OFF skips the check.
+ */
+@Slf4j
+@Component
+public class IndexVerifier {
+    public enum Mode { OFF, WARN, FAIL }
+
+    record ExpectedIndex(String table, String name, List<String> columns) {}
+
+    static final List<ExpectedIndex> EXPECTED = List.of(
+            new ExpectedIndex("orders", "idx_orders_status_created_at", List.of("status", "created_at", "client_id")),
+            new ExpectedIndex("orders", "idx_orders_created_at_client", List.of("created_at", "client_id")),
+            new ExpectedIndex("order_log", "idx_order_log_order_timestamp", List.of("order_id", "timestamp")),
+            new ExpectedIndex("device", "idx_device_order_status", List.of("order_id", "status")),
+            new ExpectedIndex("device", "idx_device_received_order", List.of("received_date", "order_id")),
+            new ExpectedIndex("client", "idx_client_name_surname", List.of("name", "surname")),
+            new ExpectedIndex("client", "idx_client_phone_e164", List.of("phone_e164")),
+            new ExpectedIndex("client", "ftx_client_search", List.of("name", "surname", "email", "phone", "cui")),
+            new ExpectedIndex("notification_outbox", "idx_notification_outbox_due", List.of("status", "next_attempt_at")));
+
+    private final DataSource dataSource;
+    private final Mode mode;
+
+    public IndexVerifier(DataSource dataSource, @Value("${app.schema.index-check:WARN}") Mode mode) {
+        this.dataSource = dataSource;
+        this.mode = mode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        List<String> problems;
+        try (Connection connection = dataSource.getConnection()) {
+            problems = findProblems(connection.getMetaData(), connection.getCatalog());
+        } catch (SQLException e) {
+            log.warn("Could not read index metadata, index check skipped", e);
+            return;
+        }
+        if (problems.isEmpty()) {
+            log.info("All {} query indexes present", EXPECTED.size());
+            return;
+        }
+        String message = "Missing or different query indexes (see db/migration): "
+                + String.join("; ", problems);
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private List<String> findProblems(DatabaseMetaData metaData, String catalog) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        for (ExpectedIndex expected : EXPECTED) {
+            List<String> actual = indexColumns(metaData, catalog, expected.table()).get(expected.name());
+            if (actual == null) {
+                problems.add(expected.table() + "." + expected.name() + " missing");
+            } else if (!actual.equals(expected.columns())) {
+                problems.add(expected.table() + "." + expected.name() + " is on " + actual + ", expected " + expected.columns());
+            }
+        }
+        return problems;
+    }
+
+    // Index name (lower case) -> columns in key order, lower case
+    private static Map<String, List<String>> indexColumns(DatabaseMetaData metaData, String catalog, String table)
+            throws SQLException {
+        Map<String, TreeMap<Short, String>> byIndex = new TreeMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(catalog, null, table, false, true)) {
+            while (rows.next()) {
+                String index = rows.getString("INDEX_NAME");
+                String column = rows.getString("COLUMN_NAME");
+                if (index == null || column == null) {
+                    continue; // table statistics row
+                }
+                byIndex.computeIfAbsent(index.toLowerCase(), name -> new TreeMap<>())
+                        .put(rows.getShort("ORDINAL_POSITION"), column.toLowerCase());
+            }
+        }
+        Map<String, List<String>> columns = new TreeMap<>();
+        byIndex.forEach((index, ordered) -> columns.put(index, List.copyOf(ordered.values())));
+        return columns;
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.backend.config;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -39,9 +43,23 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    // Bounded timeouts so a slow WhatsApp API only ever ties up a dispatcher thread
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${whatsapp.api.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                     @Value("${whatsapp.api.read-timeout-ms:10000}") long readTimeoutMs) {
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+    }
+
+    // Only run inside the security chain; as a plain servlet filter it would run before authentication
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     @Bean
@@ -79,6 +97,9 @@ public class SecurityConfig {
                 .requestMatchers("/swagger-ui/**", "/api-docs/**").permitAll()
                 .anyRequest().authenticated()
             )
+            // Before JWT auth, so floods are rejected before anything else runs; the filter verifies
+            // the token itself to pick the tier. Filters added at the same position run in the
+            // order they are added.
             .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
@@ -3,9 +3,11 @@ package com.example.backend.domain;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.example.backend.util.PhoneNumbers;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -14,8 +16,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,11 +33,14 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_DEFAULT)
-@Table(name = "client")
+@Table(name = "client", indexes = @Index(name = "idx_client_phone_e164", columnList = "phone_e164"))
 public class Client {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "client_id")
+    @TableGenerator(name = "client_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "client",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false, unique = true, updatable = false)
     private Long id;
 
@@ -47,6 +56,11 @@ public class Client {
     @Column(name = "phone", length = 15)
     private String phone;
 
+    // Numărul normalizat (E.164), calculat la fiecare scriere; căutări exacte și trimiteri WhatsApp
+    @Column(name = "phone_e164", length = 16)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String phoneE164;
+
     @Column(name = "type", length = 50)
     private String type;
 
@@ -57,4 +71,10 @@ public class Client {
     @JsonManagedReference("client-orders")
     //@JsonIgnore
     private List<Order> orders = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    void normalizePhone() {
+        phoneE164 = PhoneNumbers.toE164(phone);
+    }
 }
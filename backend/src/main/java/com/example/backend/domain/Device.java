@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -17,9 +18,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -31,11 +34,14 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_DEFAULT)
-@Table(name = "device")
+@Table(name = "device", indexes = @Index(name = "idx_device_order_status", columnList = "order_id, status"))
 public class Device {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "device_id")
+    @TableGenerator(name = "device_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "device",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false, unique = true, updatable = false)
     private Long id;
 
@@ -49,7 +55,7 @@ public class Device {
     private String serialNumber;
 
     @CreationTimestamp
-    @Column(name = "received_date", nullable = false)
+    @Column(name = "received_date", nullable = false, updatable = false)
     private LocalDate receivedDate;
 
     @Column(name = "note", length = 255)
@@ -102,6 +108,7 @@ public class Device {
         joinColumns = @JoinColumn(name = "device_id")
     )
     @Column(name = "accessory_name")
+    @BatchSize(size = 50) // listele de dispozitive își încarcă accesoriile în loturi, nu câte o interogare per dispozitiv
     private Set<String> predefinedAccessories = new HashSet<>();
     
     // Adaugă metode helper
@@ -0,0 +1,21 @@
+package com.example.backend.domain;
+
+import java.util.List;
+
+/**
+ * Shared settings for the table-backed id generators. Each entity has one row in id_generator,
+ * keyed by its table name, from which ids are taken in blocks of ALLOCATION_SIZE (pooled-lo,
+ * see application.properties). Unlike IDENTITY, ids are known before the INSERT, so Hibernate
+ * can send inserts as JDBC batches.
+ */
+public final class IdGenerators {
+    public static final String TABLE = "id_generator";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Tables whose ids come from id_generator; their rows are seeded by IdGeneratorSeeder
+    public static final List<String> TABLES = List.of("client", "orders", "device", "notification", "order_document");
+
+    private IdGenerators() {}
+}
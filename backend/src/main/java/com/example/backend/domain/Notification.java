@@ -15,6 +15,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -30,7 +31,10 @@ import lombok.Setter;
 public class Notification {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_id")
+    @TableGenerator(name = "notification_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "notification",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false, unique = true, updatable = false)
     private Long id;
 
@@ -43,6 +47,6 @@ public class Notification {
     private String message;
 
     @CreationTimestamp
-    @Column(name = "send_date", nullable = false)
+    @Column(name = "send_date", nullable = false, updatable = false)
     private LocalDateTime sendDate;
 }
@@ -0,0 +1,81 @@
+package com.example.backend.domain;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outgoing WhatsApp message, written in the same transaction as the order change that
+ * triggered it and delivered later by NotificationDispatcher. The template parameters are
+ * captured at enqueue time so delivery never has to load the order again.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_outbox",
+       indexes = @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at"))
+public class NotificationOutbox {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD";
+
+    public static final int CLIENT_NAME_LENGTH = 255;
+    public static final int DEVICE_NAMES_LENGTH = 1000;
+    public static final int LAST_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, unique = true, updatable = false)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    @Column(name = "type", length = 50, nullable = false, updatable = false)
+    private String type;
+
+    @Column(name = "recipient", length = 20, nullable = false)
+    private String recipient;
+
+    @Column(name = "client_name", length = CLIENT_NAME_LENGTH, nullable = false)
+    private String clientName;
+
+    @Column(name = "device_names", length = DEVICE_NAMES_LENGTH)
+    private String deviceNames;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private String status = PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,50 @@
+package com.example.backend.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Number of orders created in a month that currently have a given status.
+ * Maintained by OrderMonthlyRollupService; rebuilt from the orders table when needed.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_monthly_rollup")
+public class OrderMonthlyRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        // First day of the month the orders were created in
+        @Column(name = "month_start", nullable = false)
+        private LocalDate monthStart;
+
+        @Column(name = "status", length = 50, nullable = false)
+        private String status;
+    }
+}
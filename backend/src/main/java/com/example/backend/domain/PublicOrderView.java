@@ -0,0 +1,56 @@
+package com.example.backend.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Denormalized copy of what the public order page shows: the fields of ClientOrderDetailsDTO
+ * and PublicOrderDTO, one row per order. Maintained by PublicOrderViewService on order,
+ * device and client writes, so a QR scan reads a single row by primary key.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "public_order_view")
+public class PublicOrderView {
+
+    @Id
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    @Column(name = "client_name", length = 201)
+    private String clientName;
+
+    @Column(name = "client_phone", length = 15)
+    private String clientPhone;
+
+    @Column(name = "client_email", length = 100)
+    private String clientEmail;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "status", length = 50)
+    private String status;
+
+    @Column(name = "notes", length = 500)
+    private String notes;
+
+    @Column(name = "device_count", nullable = false)
+    private long deviceCount;
+
+    // ClientOrderDetailsDTO.DeviceDetailsDTO list, serialized as JSON
+    @Column(name = "devices_json", columnDefinition = "TEXT")
+    private String devicesJson;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
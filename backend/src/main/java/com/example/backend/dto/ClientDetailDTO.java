@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// GET /api/clients/{id}: the cached client fields at the top level, plus the client's orders
+@Getter
+@AllArgsConstructor
+public class ClientDetailDTO {
+    @JsonUnwrapped
+    private final ClientListDTO client;
+    private final List<OrderListDTO> orders;
+}
@@ -1,18 +1,17 @@
 package com.example.backend.dto;
 
 import lombok.Getter;
-import lombok.Setter;
 
+// Immutable: cached and shared by the clients cache and ClientAutocompleteIndex
 @Getter
-@Setter
 public class ClientListDTO {
-    private Long id;
-    private String name;
-    private String surname;
-    private String email;
-    private String phone;
-    private String type;
-    private String cui;
+    private final Long id;
+    private final String name;
+    private final String surname;
+    private final String email;
+    private final String phone;
+    private final String type;
+    private final String cui;
 
     public ClientListDTO(Long id, String name, String surname, String email, String phone, String type, String cui) {
         this.id = id;
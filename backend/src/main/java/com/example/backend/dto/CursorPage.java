@@ -0,0 +1,37 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.Getter;
+
+/**
+ * One page of a keyset listing. There is no total count; nextCursor is null on the last page.
+ */
+@Getter
+public class CursorPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds the page from up to size + 1 rows; the extra row only tells whether another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, size, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, size, cursorOf.apply(content.get(size - 1)));
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import com.example.backend.domain.Device;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Getter;
+
+/**
+ * Detached copy of a Device, safe to keep in a cache. Serializes like the entity does.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class DeviceDTO {
+    private final Long id;
+    private final String brand;
+    private final String model;
+    private final String serialNumber;
+    private final LocalDate receivedDate;
+    private final String note;
+    private final String toDo;
+    private final String accessory;
+    private final String credential;
+    private final String status;
+    private final String licenseKey;
+    private final String hostname;
+    private final String serviceQrLink;
+    private final String serviceQrPath;
+    private final String customAccessories;
+    private final Set<String> predefinedAccessories;
+
+    @JsonProperty("order_id")
+    private final Long orderId;
+
+    public DeviceDTO(Device device) {
+        this.id = device.getId();
+        this.brand = device.getBrand();
+        this.model = device.getModel();
+        this.serialNumber = device.getSerialNumber();
+        this.receivedDate = device.getReceivedDate();
+        this.note = device.getNote();
+        this.toDo = device.getToDo();
+        this.accessory = device.getAccessory();
+        this.credential = device.getCredential();
+        this.status = device.getStatus();
+        this.licenseKey = device.getLicenseKey();
+        this.hostname = device.getHostname();
+        this.serviceQrLink = device.getServiceQrLink();
+        this.serviceQrPath = device.getServiceQrPath();
+        this.customAccessories = device.getCustomAccessories();
+        this.predefinedAccessories = device.getPredefinedAccessories() != null
+                ? Set.copyOf(device.getPredefinedAccessories())
+                : Set.of();
+        this.orderId = device.getOrderId();
+    }
+}
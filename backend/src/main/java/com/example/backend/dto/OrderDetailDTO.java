@@ -1,6 +1,5 @@
 package com.example.backend.dto;
 
-import com.example.backend.domain.Client;
 import com.example.backend.domain.Device;
 import com.example.backend.domain.OrderLog;
 import java.time.LocalDateTime;
@@ -10,11 +9,11 @@ public class OrderDetailDTO {
     private Long id;
     private LocalDateTime createdAt;
     private String status;
-    private Client client;
+    private ClientListDTO client;
     private List<Device> devices;
     private List<OrderLog> orderLogs;
 
-    public OrderDetailDTO(Long id, LocalDateTime createdAt, String status, Client client, List<Device> devices, List<OrderLog> orderLogs) {
+    public OrderDetailDTO(Long id, LocalDateTime createdAt, String status, ClientListDTO client, List<Device> devices, List<OrderLog> orderLogs) {
         this.id = id;
         this.createdAt = createdAt;
         this.status = status;
@@ -26,14 +25,14 @@ public class OrderDetailDTO {
     public Long getId() { return id; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public String getStatus() { return status; }
-    public Client getClient() { return client; }
+    public ClientListDTO getClient() { return client; }
     public List<Device> getDevices() { return devices; }
     public List<OrderLog> getOrderLogs() { return orderLogs; }
 
     public void setId(Long id) { this.id = id; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public void setStatus(String status) { this.status = status; }
-    public void setClient(Client client) { this.client = client; }
+    public void setClient(ClientListDTO client) { this.client = client; }
     public void setDevices(List<Device> devices) { this.devices = devices; }
     public void setOrderLogs(List<OrderLog> orderLogs) { this.orderLogs = orderLogs; }
 }
@@ -2,16 +2,17 @@ package com.example.backend.dto;
 
 import java.time.LocalDate;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 
+// Immutable: the same instance is handed out by the users cache to every caller
 @Getter
-@Setter
+@AllArgsConstructor
 public class UserListDTO {
-    private Long id;
-    private String username;
-    private String email;
-    private String phone;
-    private String role;
-    private LocalDate createdAt;
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String phone;
+    private final String role;
+    private final LocalDate createdAt;
 }
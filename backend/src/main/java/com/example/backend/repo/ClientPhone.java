@@ -0,0 +1,9 @@
+package com.example.backend.repo;
+
+/**
+ * Projection for normalizing stored phone numbers: the client id and the phone as typed.
+ */
+public interface ClientPhone {
+    Long getId();
+    String getPhone();
+}
@@ -3,8 +3,11 @@ package com.example.backend.repo;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.backend.domain.Client;
 
@@ -13,6 +16,27 @@ public interface ClientRepo extends JpaRepository<Client, Long>, JpaSpecificatio
     Optional<Client> findByEmail(String email);
     Optional<Client> findByCui(String cui);
     List<Client> findByType(String type);
+    List<Client> findByPhoneE164(String phoneE164);
     boolean existsByEmail(String email);
     boolean existsByCui(String cui);
-}
\ No newline at end of file
+
+    // Walks all clients in pages, for building in-memory indexes
+    @Query("SELECT c FROM Client c WHERE c.id > :afterId ORDER BY c.id")
+    List<Client> findPageAfter(Long afterId, Pageable pageable);
+
+    // Client ids ranked by relevance, from the ngram FULLTEXT index (V008__Add_client_fulltext_search.sql)
+    @Query(value = "SELECT id FROM client WHERE MATCH (name, surname, email, phone, cui) AGAINST (:query IN BOOLEAN MODE) " +
+                   "ORDER BY MATCH (name, surname, email, phone, cui) AGAINST (:query IN BOOLEAN MODE) DESC, id " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<Long> searchIds(String query, int limit);
+
+    // Clients whose normalized phone was never computed (rows older than the phone_e164 column)
+    @Query("SELECT c.id AS id, c.phone AS phone FROM Client c " +
+           "WHERE c.phoneE164 IS NULL AND c.phone IS NOT NULL AND c.id > :afterId ORDER BY c.id")
+    List<ClientPhone> findPhonesToNormalizeAfter(Long afterId, Pageable pageable);
+
+    // Only if the phone is still the one normalized, so a concurrent edit is never overwritten
+    @Modifying
+    @Query("UPDATE Client c SET c.phoneE164 = :phoneE164 WHERE c.id = :id AND c.phone = :phone")
+    int setPhoneE164(Long id, String phone, String phoneE164);
+}
@@ -0,0 +1,9 @@
+package com.example.backend.repo;
+
+/**
+ * Projection for label printing: just the ids the QR links are built from.
+ */
+public interface DeviceLabelRef {
+    Long getDeviceId();
+    Long getOrderId();
+}
@@ -1,8 +1,13 @@
 package com.example.backend.repo;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.backend.domain.Device;
 
@@ -10,7 +15,33 @@ public interface DeviceRepo extends JpaRepository<Device, Long> {
     Optional<Device> findDeviceById(Long id);
     Optional<Device> findDeviceBySerialNumber(String serialNumber);
     boolean existsBySerialNumber(String serialNumber);
+
+    // Lookups by order go through idx_device_order_id. Explicit query because
+    // Device.getOrderId() would otherwise be taken for a persistent property.
+    @Query("SELECT d FROM Device d WHERE d.order.id = :orderId")
+    List<Device> findByOrderId(Long orderId);
+
+    // Order details, step 2: the order's devices with their accessories in the same round trip
+    @Query("SELECT d FROM Device d LEFT JOIN FETCH d.predefinedAccessories WHERE d.order.id = :orderId ORDER BY d.id")
+    List<Device> findWithAccessoriesByOrderId(Long orderId);
+
+    @Query("SELECT d.status AS status, COUNT(d) AS total FROM Device d WHERE d.order.id = :orderId GROUP BY d.status")
+    List<StatusCount> countGroupedByStatusForOrder(Long orderId);
+
+    // Label printing only needs ids, grouped by order so each order's labels come out together
+    @Query("SELECT d.id AS deviceId, d.order.id AS orderId FROM Device d WHERE d.order.id = :orderId ORDER BY d.id")
+    List<DeviceLabelRef> findLabelRefsByOrderId(Long orderId, Pageable pageable);
+
+    @Query("SELECT d.id AS deviceId, d.order.id AS orderId FROM Device d WHERE d.id IN :ids ORDER BY d.order.id, d.id")
+    List<DeviceLabelRef> findLabelRefsByIds(Collection<Long> ids, Pageable pageable);
+
+    @Query("SELECT d.id AS deviceId, d.order.id AS orderId FROM Device d " +
+           "WHERE d.receivedDate BETWEEN :from AND :to ORDER BY d.order.id, d.id")
+    List<DeviceLabelRef> findLabelRefsByReceivedDate(LocalDate from, LocalDate to, Pageable pageable);
     
     // Dashboard methods for counting device statuses
     long countByStatus(String status);
+
+    @Query("SELECT d.status AS status, COUNT(d) AS total FROM Device d GROUP BY d.status")
+    List<StatusCount> countGroupedByStatus();
 }
\ No newline at end of file
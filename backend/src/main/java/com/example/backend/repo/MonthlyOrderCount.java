@@ -0,0 +1,12 @@
+package com.example.backend.repo;
+
+import java.time.LocalDate;
+
+/**
+ * Projection for the monthly orders chart: one row per month.
+ */
+public interface MonthlyOrderCount {
+    LocalDate getMonthStart();
+    long getTotal();
+    long getCompleted();
+}
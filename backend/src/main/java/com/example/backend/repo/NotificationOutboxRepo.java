@@ -0,0 +1,33 @@
+package com.example.backend.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.backend.domain.NotificationOutbox;
+
+public interface NotificationOutboxRepo extends JpaRepository<NotificationOutbox, Long> {
+    List<NotificationOutbox> findByStatusOrderByIdDesc(String status, Pageable pageable);
+    List<NotificationOutbox> findAllByOrderByIdDesc(Pageable pageable);
+    long countByStatus(String status);
+
+    @Query("SELECT n.id FROM NotificationOutbox n WHERE n.status = 'PENDING' AND n.nextAttemptAt <= :now " +
+           "ORDER BY n.nextAttemptAt")
+    List<Long> findDueIds(LocalDateTime now, Pageable pageable);
+
+    // Only one dispatcher wins the PENDING -> SENDING transition, even with several instances running
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = 'SENDING', n.lockedAt = :now " +
+           "WHERE n.id = :id AND n.status = 'PENDING'")
+    int claim(Long id, LocalDateTime now);
+
+    // Messages left in SENDING by a crashed or killed instance go back to the queue
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = 'PENDING', n.lockedAt = null " +
+           "WHERE n.status = 'SENDING' AND n.lockedAt < :lockedBefore")
+    int releaseStale(LocalDateTime lockedBefore);
+}
@@ -0,0 +1,9 @@
+package com.example.backend.repo;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order log row waiting to be inserted: ids only, so it can outlive the persistence
+ * context it was created in.
+ */
+public record OrderLogEntry(Long orderId, Long userId, String message, LocalDateTime timestamp) {}
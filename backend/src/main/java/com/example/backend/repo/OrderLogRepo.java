@@ -8,7 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 
 import com.example.backend.domain.OrderLog;
 
-public interface OrderLogRepo extends JpaRepository<OrderLog, Long> {
+public interface OrderLogRepo extends JpaRepository<OrderLog, Long>, OrderLogRepoCustom {
     Optional<OrderLog> findOrderLogById(Long id);
     @Query("SELECT ol FROM OrderLog ol WHERE ol.order.id = :orderId ORDER BY ol.timestamp DESC")
     List<OrderLog> findOrderLogByOrderId(Long orderId);
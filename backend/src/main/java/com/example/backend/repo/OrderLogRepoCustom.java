@@ -0,0 +1,11 @@
+package com.example.backend.repo;
+
+import java.util.List;
+
+public interface OrderLogRepoCustom {
+    /**
+     * Inserts the entries with multi-row INSERT statements (IDENTITY keys rule out JDBC
+     * batching for saved entities). Must run inside a transaction.
+     */
+    int insertAll(List<OrderLogEntry> entries);
+}
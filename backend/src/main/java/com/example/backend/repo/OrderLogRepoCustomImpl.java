@@ -0,0 +1,41 @@
+package com.example.backend.repo;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+public class OrderLogRepoCustomImpl implements OrderLogRepoCustom {
+    // Keeps a single statement well below max_allowed_packet
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertAll(List<OrderLogEntry> entries) {
+        int inserted = 0;
+        for (int from = 0; from < entries.size(); from += MAX_ROWS_PER_STATEMENT) {
+            inserted += insert(entries.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, entries.size())));
+        }
+        return inserted;
+    }
+
+    private int insert(List<OrderLogEntry> rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO order_log (order_id, user_id, message, `timestamp`) VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+        }
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (OrderLogEntry row : rows) {
+            query.setParameter(position++, row.orderId());
+            query.setParameter(position++, row.userId());
+            query.setParameter(position++, row.message());
+            query.setParameter(position++, row.timestamp());
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.repo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.backend.domain.OrderMonthlyRollup;
+
+public interface OrderMonthlyRollupRepo extends JpaRepository<OrderMonthlyRollup, OrderMonthlyRollup.Key> {
+
+    @Query("SELECT r.id.monthStart AS monthStart, SUM(r.orderCount) AS total, " +
+           "SUM(CASE WHEN r.id.status = 'PREDAT' THEN r.orderCount ELSE 0 END) AS completed " +
+           "FROM OrderMonthlyRollup r WHERE r.id.monthStart >= :fromMonth " +
+           "GROUP BY r.id.monthStart ORDER BY r.id.monthStart")
+    List<MonthlyOrderCount> findMonthlyCountsFrom(LocalDate fromMonth);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_monthly_rollup (month_start, status, order_count) " +
+                   "VALUES (:monthStart, :status, :delta) " +
+                   "ON DUPLICATE KEY UPDATE order_count = order_count + :delta", nativeQuery = true)
+    void increment(LocalDate monthStart, String status, long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_monthly_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO order_monthly_rollup (month_start, status, order_count) " +
+                   "SELECT DATE_FORMAT(created_at, '%Y-%m-01'), UPPER(status), COUNT(*) FROM orders " +
+                   "GROUP BY DATE_FORMAT(created_at, '%Y-%m-01'), UPPER(status)", nativeQuery = true)
+    int insertFromOrders();
+}
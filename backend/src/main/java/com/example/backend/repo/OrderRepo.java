@@ -4,17 +4,36 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.backend.domain.Order;
 
-public interface OrderRepo extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepo extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderRepoCustom {
     Optional<Order> findOrderById(Long id);
+
+    // Order details, step 1: the order with its client, user and log entries (each with its author).
+    // Devices are loaded separately so they do not multiply with the logs.
+    @Query("SELECT o FROM Order o JOIN FETCH o.client JOIN FETCH o.user " +
+           "LEFT JOIN FETCH o.orderLogs l LEFT JOIN FETCH l.user WHERE o.id = :id")
+    Optional<Order> findDetailById(Long id);
     long countByStatusNotIn(List<String> statuses);
     
     // Dashboard methods
     long countByStatus(String status);
     long countByStatusAndCreatedAtBetween(String status, LocalDateTime startDate, LocalDateTime endDate);
     long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS total FROM Order o GROUP BY o.status")
+    List<StatusCount> countGroupedByStatus();
+
+    // Read from the (status, created_at, client_id) index, not the table
+    @Query("SELECT DISTINCT o.status FROM Order o")
+    List<String> findDistinctStatuses();
+
+    // Walks all order ids in pages, for rebuilding read models
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
 }
\ No newline at end of file
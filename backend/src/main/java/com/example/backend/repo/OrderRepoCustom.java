@@ -0,0 +1,25 @@
+package com.example.backend.repo;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.backend.domain.Order;
+import com.example.backend.dto.OrderListDTO;
+
+public interface OrderRepoCustom {
+    /**
+     * Order list rows (id, client name, createdAt, status, device count) built in a single
+     * SELECT with a correlated COUNT subquery, plus a separate count query for the total.
+     */
+    Page<OrderListDTO> findOrderList(Specification<Order> spec, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findOrderList(Specification, Pageable)}, first {@code limit} in
+     * the given order, without a count query. Used by keyset listings.
+     */
+    List<OrderListDTO> findOrderList(Specification<Order> spec, Sort sort, int limit);
+}
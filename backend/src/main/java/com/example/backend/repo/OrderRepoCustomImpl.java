@@ -0,0 +1,100 @@
+package com.example.backend.repo;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.backend.domain.Client;
+import com.example.backend.domain.Device;
+import com.example.backend.domain.Order;
+import com.example.backend.dto.OrderListDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+public class OrderRepoCustomImpl implements OrderRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<OrderListDTO> findOrderList(Specification<Order> spec, Pageable pageable) {
+        TypedQuery<OrderListDTO> query = listQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<OrderListDTO> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<OrderListDTO> findOrderList(Specification<Order> spec, Sort sort, int limit) {
+        return listQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<OrderListDTO> listQuery(Specification<Order> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderListDTO> query = cb.createQuery(OrderListDTO.class);
+        Root<Order> root = query.from(Order.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Join<Order, Client> client = clientJoin(root);
+
+        Subquery<Long> deviceCount = query.subquery(Long.class);
+        Root<Device> device = deviceCount.from(Device.class);
+        deviceCount.select(cb.count(device)).where(cb.equal(device.get("order"), root));
+
+        query.select(cb.construct(OrderListDTO.class,
+                root.get("id"),
+                cb.concat(cb.concat(client.get("name"), " "), client.get("surname")),
+                root.get("createdAt"),
+                root.get("status"),
+                deviceCount));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    // Reuse the client join added by the search specification instead of joining twice
+    @SuppressWarnings("unchecked")
+    private static Join<Order, Client> clientJoin(Root<Order> root) {
+        return root.getJoins().stream()
+                .filter(join -> "client".equals(join.getAttribute().getName()))
+                .map(join -> (Join<Order, Client>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("client"));
+    }
+
+    private long count(Specification<Order> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.backend.domain.PublicOrderView;
+
+public interface PublicOrderViewRepo extends JpaRepository<PublicOrderView, Long> {
+
+    @Modifying
+    @Query("UPDATE PublicOrderView v SET v.clientName = :clientName, v.clientPhone = :clientPhone, " +
+           "v.clientEmail = :clientEmail WHERE v.orderId IN (SELECT o.id FROM Order o WHERE o.client.id = :clientId)")
+    int updateClient(Long clientId, String clientName, String clientPhone, String clientEmail);
+
+    @Modifying
+    @Query("DELETE FROM PublicOrderView v WHERE v.orderId IN (SELECT o.id FROM Order o WHERE o.client.id = :clientId)")
+    int deleteByClientId(Long clientId);
+}
@@ -0,0 +1,9 @@
+package com.example.backend.repo;
+
+/**
+ * Projection for GROUP BY status queries: one row per distinct status value.
+ */
+public interface StatusCount {
+    String getStatus();
+    long getTotal();
+}
@@ -1,6 +1,8 @@
 package com.example.backend.resource;
 
+import com.example.backend.dto.ClientDetailDTO;
 import com.example.backend.dto.ClientListDTO;
+import com.example.backend.dto.CursorPage;
 
 import java.net.URI;
 import java.util.List;
@@ -17,7 +19,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.backend.service.ClientAutocompleteIndex;
 import com.example.backend.service.ClientService;
+import com.example.backend.service.OrderService;
 import com.example.backend.domain.Client;
 
 import lombok.RequiredArgsConstructor;
@@ -33,6 +37,8 @@ import org.springframework.data.domain.PageRequest;
 @RequiredArgsConstructor
 public class ClientResource {
     private final ClientService clientService;
+    private final ClientAutocompleteIndex autocompleteIndex;
+    private final OrderService orderService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/add")
@@ -43,9 +49,9 @@ public class ClientResource {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<Client> getClient(@PathVariable(value = "id") Long id) {
-        return clientService.getClientById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<ClientDetailDTO> getClient(@PathVariable(value = "id") Long id) {
+        return clientService.getClientDTOById(id)
+                .map(client -> ResponseEntity.ok(new ClientDetailDTO(client, orderService.getOrderListByClientId(id))))
                 .orElseGet(ResponseEntity.notFound()::build);
     }
 
@@ -137,4 +143,36 @@ public class ClientResource {
         ));
         return ResponseEntity.ok(dtoPage);
     }
-}
\ No newline at end of file
+
+    // Keyset pagination: pass the nextCursor of the previous page as "after"; no total count.
+    // size is capped at KeysetSpecification.MAX_PAGE_SIZE
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/filter/cursor")
+    public ResponseEntity<CursorPage<ClientListDTO>> getFilteredClientsByCursor(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false, defaultValue = "all") String type,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        log.info("Received cursor filter request: search={}, type={}, size={}", searchTerm, type, size);
+        return ResponseEntity.ok(clientService.getFilteredClientsAfter(
+                searchTerm, type, sortBy, sortDir.equalsIgnoreCase("asc"), after, size));
+    }
+
+    // Caller ID: exact match on the normalized number, whatever format it is given in
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/by-phone")
+    public ResponseEntity<List<ClientListDTO>> getClientsByPhone(@RequestParam String phone) {
+        return ResponseEntity.ok(clientService.getClientsByPhone(phone));
+    }
+
+    // Client picker while typing (name, surname, phone or CUI prefix), served from memory
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<ClientListDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteIndex.suggest(q, limit));
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -52,10 +53,14 @@ public class DashboardResource {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/monthly-orders")
-    public ResponseEntity<Map<String, Object>> getMonthlyOrdersData() {
+    public ResponseEntity<Map<String, Object>> getMonthlyOrdersData(
+            @RequestParam(defaultValue = "12") int months) {
         log.info("Fetching monthly orders data for charts");
+        if (months < 1 || months > 120) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            Map<String, Object> monthlyData = dashboardService.getMonthlyOrdersData();
+            Map<String, Object> monthlyData = dashboardService.getMonthlyOrdersData(months);
             return ResponseEntity.ok(monthlyData);
         } catch (Exception e) {
             log.error("Error fetching monthly orders data", e);
@@ -63,6 +68,14 @@ public class DashboardResource {
         }
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/monthly-orders/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildMonthlyOrdersData() {
+        log.info("Rebuilding monthly orders rollup");
+        int rows = dashboardService.rebuildMonthlyOrdersData();
+        return ResponseEntity.ok(Map.of("rows", rows));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/status-distribution")
     public ResponseEntity<Map<String, Object>> getStatusDistribution() {
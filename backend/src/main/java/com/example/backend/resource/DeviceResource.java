@@ -20,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.backend.domain.Client;
 import com.example.backend.domain.Device;
+import com.example.backend.dto.DeviceDTO;
 import com.example.backend.service.DeviceService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,28 +36,16 @@ public class DeviceResource {
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/add")
     public ResponseEntity<Device> addDevice(@RequestBody Device device){
+        // Linkul QR se setează la salvare; imaginea se randează după commit
         Device savedDevice = deviceService.addDevice(device);
-        // Generează link-ul pentru status dispozitiv
-        String qrLink = "http://localhost:5173/devices/" + savedDevice.getId();
-
-        // Generează QR și salvează imaginea PNG într-un folder local
-        try {
-            String qrPath = "C:\\Users\\alxsi\\Desktop\\QrCodes\\device-" + savedDevice.getId() + ".png";
-            com.example.backend.util.QrGenerator.generateQrCode(qrLink, qrPath);
-            // Poți salva calea imaginii QR în entitatea Device dacă vrei
-            // savedDevice.setQrPath(qrPath);
-            // deviceService.updateDevice(savedDevice.getId(), savedDevice);
-        } catch (Exception e) {
-            log.error("Eroare la generarea codului QR pentru dispozitiv {}", savedDevice.getId(), e);
-        }
         return ResponseEntity.created(URI.create("api/devices/add/" + savedDevice.getId()))
                 .body(savedDevice);
     }
     
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<Device> getDevice(@PathVariable(value = "id") Long id) {
-        return deviceService.getDeviceById(id)
+    public ResponseEntity<DeviceDTO> getDevice(@PathVariable(value = "id") Long id) {
+        return deviceService.getDeviceDTOById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(ResponseEntity.notFound()::build);
     }
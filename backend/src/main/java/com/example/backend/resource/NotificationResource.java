@@ -1,18 +1,23 @@
 package com.example.backend.resource;
 
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.method.P;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
 
 import com.example.backend.domain.Notification;
+import com.example.backend.domain.NotificationOutbox;
+import com.example.backend.service.NotificationOutboxService;
 import com.example.backend.service.NotificationService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class NotificationResource {
     private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/add")
@@ -45,5 +51,19 @@ public class NotificationResource {
         notificationService.deleteNotification(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/outbox")
+    public ResponseEntity<List<NotificationOutbox>> getOutboxMessages(
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(notificationOutboxService.getMessages(status, Math.max(1, Math.min(limit, 500))));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/outbox/{id}/retry")
+    public ResponseEntity<NotificationOutbox> retryOutboxMessage(@PathVariable(value = "id") Long id) {
+        return ResponseEntity.ok(notificationOutboxService.retry(id));
+    }
         
 }
\ No newline at end of file
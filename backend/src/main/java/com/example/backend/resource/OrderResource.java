@@ -2,6 +2,7 @@ package com.example.backend.resource;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -20,11 +21,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.backend.domain.Order;
+import com.example.backend.dto.CursorPage;
 import com.example.backend.dto.OrderDetailDTO;
 import com.example.backend.dto.OrderListDTO;
 import com.example.backend.dto.ClientOrderDetailsDTO;
+import com.example.backend.dto.PublicOrderDTO;
 import com.example.backend.service.OrderService;
-import com.example.backend.service.QrService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,7 +37,6 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderResource {
     private final OrderService orderService;
-    private final QrService qrService;
 
     // @PreAuthorize("hasRole('ADMIN')")
     // @PostMapping("/add")
@@ -46,22 +47,8 @@ public class OrderResource {
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/add")
     public ResponseEntity<Order> addOrder(@RequestBody Order order) {
+        // QR links are set in the same transaction; images are rendered after commit
         Order savedOrder = orderService.addOrder(order);
-
-        try {
-            // Generate QR codes using QrService
-            qrService.generateClientOrderQR(savedOrder);
-            qrService.generateServiceQRsForOrder(savedOrder);
-            
-            // Update order with QR information
-            savedOrder = orderService.updateOrder(savedOrder.getId(), savedOrder);
-            
-            log.info("Successfully generated QR codes for order {}", savedOrder.getId());
-            
-        } catch (Exception e) {
-            log.error("Error generating QR codes for order {}", savedOrder.getId(), e);
-        }
-
         return ResponseEntity.created(URI.create("/api/orders/add/" + savedOrder.getId()))
                 .body(savedOrder);
     }
@@ -96,7 +83,7 @@ public class OrderResource {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/filter")
-    public ResponseEntity<Page<com.example.backend.dto.OrderListDTO>> getFilteredOrders(
+    public ResponseEntity<Page<OrderListDTO>> getFilteredOrders(
             @RequestParam(required = false) String searchTerm,
             @RequestParam(required = false, defaultValue = "all") String status,
             @RequestParam(required = false) Long deviceId,
@@ -113,32 +100,33 @@ public class OrderResource {
                 Sort.by(sortBy).ascending() : 
                 Sort.by(sortBy).descending()
         );
-        Page<Order> orders = orderService.getFilteredPagedOrders(searchTerm, status, deviceId, pageable);
-        Page<com.example.backend.dto.OrderListDTO> dtoPage = orders.map(order -> new com.example.backend.dto.OrderListDTO(
-            order.getId(),
-            order.getClient() != null ? order.getClient().getName() + " " + order.getClient().getSurname() : "",
-            order.getCreatedAt(),
-            order.getStatus(),
-            order.getDevices() != null ? (long) order.getDevices().size() : 0L
-        ));
+        Page<OrderListDTO> dtoPage = orderService.getFilteredOrderList(searchTerm, status, deviceId, pageable);
         return ResponseEntity.ok(dtoPage);
     }
 
+    // Keyset pagination: pass the nextCursor of the previous page as "after"; no total count.
+    // size is capped at KeysetSpecification.MAX_PAGE_SIZE
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/filter/cursor")
+    public ResponseEntity<CursorPage<OrderListDTO>> getFilteredOrdersByCursor(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false, defaultValue = "all") String status,
+            @RequestParam(required = false) Long deviceId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        log.info("Received cursor filter request: search={}, status={}, deviceId={}, size={}", 
+                 searchTerm, status, deviceId, size);
+        return ResponseEntity.ok(orderService.getFilteredOrderListAfter(
+                searchTerm, status, deviceId, sortBy, sortDir.equalsIgnoreCase("asc"), after, size));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/details/{id}")
-    public ResponseEntity<com.example.backend.dto.OrderDetailDTO> getOrderDetails(@PathVariable(value = "id") Long id) {
-        return orderService.getOrderById(id)
-                .map(order -> {
-                    com.example.backend.dto.OrderDetailDTO dto = new com.example.backend.dto.OrderDetailDTO(
-                        order.getId(),
-                        order.getCreatedAt(),
-                        order.getStatus(),
-                        order.getClient(),
-                        order.getDevices(),
-                        order.getOrderLogs()
-                    );
-                    return ResponseEntity.ok(dto);
-                })
+    public ResponseEntity<OrderDetailDTO> getOrderDetails(@PathVariable(value = "id") Long id) {
+        return orderService.getOrderDetailsById(id)
+                .map(ResponseEntity::ok)
                 .orElseGet(ResponseEntity.notFound()::build);
     }
 
@@ -174,40 +162,29 @@ public class OrderResource {
     public ResponseEntity<ClientOrderDetailsDTO> getClientOrderDetails(@PathVariable(value = "id") Long id) {
         log.info("Fetching client details for order ID: {}", id);
         
-        return orderService.getOrderById(id)
-                .map(order -> {
-                    // Creăm lista de device-uri pentru client
-                    List<ClientOrderDetailsDTO.DeviceDetailsDTO> deviceDTOs = order.getDevices().stream()
-                            .map(device -> new ClientOrderDetailsDTO.DeviceDetailsDTO(
-                                device.getId(),
-                                "Device", // Default type since deviceType doesn't exist
-                                device.getBrand(),
-                                device.getModel(),
-                                device.getSerialNumber(),
-                                device.getNote(), // Using note as issue description
-                                device.getStatus(),
-                                device.getToDo() // Using toDo as technician notes
-                            ))
-                            .collect(java.util.stream.Collectors.toList());
-                    
-                    // Creăm DTO-ul complet pentru client
-                    ClientOrderDetailsDTO clientOrder = new ClientOrderDetailsDTO(
-                        order.getId(),
-                        order.getClient() != null ? 
-                            order.getClient().getName() + " " + order.getClient().getSurname() : 
-                            "Client Name",
-                        order.getClient() != null ? order.getClient().getPhone() : "",
-                        order.getClient() != null ? order.getClient().getEmail() : "",
-                        order.getCreatedAt(),
-                        order.getStatus(),
-                        "", // No notes field in Order, using empty string
-                        deviceDTOs
-                    );
-                    return ResponseEntity.ok(clientOrder);
-                })
+        return orderService.getClientOrderDetails(id)
+                .map(ResponseEntity::ok)
                 .orElseGet(ResponseEntity.notFound()::build);
     }
 
+    /**
+     * Endpoint public cu rezumatul comenzii (status și număr de dispozitive)
+     */
+    @GetMapping("/client/{id}/summary")
+    public ResponseEntity<PublicOrderDTO> getPublicOrderSummary(@PathVariable(value = "id") Long id) {
+        return orderService.getPublicOrder(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(ResponseEntity.notFound()::build);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/public-view/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildPublicOrderView() {
+        log.info("Rebuilding public order view");
+        int rows = orderService.rebuildPublicOrderView();
+        return ResponseEntity.ok(Map.of("rows", rows));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/nrActiveOrders")
     public ResponseEntity<Long> getActiveOrdersCount() {
@@ -1,20 +1,32 @@
 package com.example.backend.resource;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.backend.domain.Device;
 import com.example.backend.domain.Order;
 import com.example.backend.service.DeviceService;
 import com.example.backend.service.OrderService;
+import com.example.backend.service.QrLabelService;
 import com.example.backend.service.QrService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +35,9 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/qr")
 @Slf4j
 public class QrResource {
+
+    // A QR image never changes for a given URL: the encoded link depends only on the frontend URL and the id
+    private static final CacheControl QR_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
     
     @Autowired
     private QrService qrService;
@@ -32,31 +47,33 @@ public class QrResource {
     
     @Autowired
     private DeviceService deviceService;
+
+    @Autowired
+    private QrLabelService qrLabelService;
     
     /**
      * Get QR image for client order
      */
     @GetMapping("/client-order/{orderId}")
-    public ResponseEntity<Resource> getClientOrderQR(@PathVariable Long orderId) {
+    public ResponseEntity<Resource> getClientOrderQR(@PathVariable Long orderId, WebRequest webRequest) {
         try {
-            Order order = orderService.getOrderById(orderId).orElse(null);
-            if (order == null) {
-                return ResponseEntity.notFound().build();
+            // If-None-Match is answered with 304 before touching the database
+            String etag = qrService.clientOrderEtag(orderId);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(QR_CACHE_CONTROL).build();
             }
-            
-            // Regenerate QR if missing
-            if (order.getClientQrPath() == null) {
-                qrService.generateClientOrderQR(order);
-                orderService.updateOrder(orderId, order);
-            }
-            
-            byte[] qrData = qrService.getQRFile(order.getClientQrPath());
-            if (qrData == null) {
+
+            if (orderService.getOrderById(orderId).isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
+            // Randat în memorie la prima cerere, apoi servit din cache
+            byte[] qrData = qrService.getClientOrderPng(orderId);
+            
             return ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_PNG)
+                .eTag(etag)
+                .cacheControl(QR_CACHE_CONTROL)
                 .header(HttpHeaders.CONTENT_DISPOSITION, 
                        "inline; filename=\"client-order-" + orderId + ".png\"")
                 .body(new ByteArrayResource(qrData));
@@ -71,26 +88,25 @@ public class QrResource {
      * Get QR image for service device
      */
     @GetMapping("/service-device/{deviceId}")
-    public ResponseEntity<Resource> getServiceDeviceQR(@PathVariable Long deviceId) {
+    public ResponseEntity<Resource> getServiceDeviceQR(@PathVariable Long deviceId, WebRequest webRequest) {
         try {
-            Device device = deviceService.getDeviceById(deviceId).orElse(null);
-            if (device == null) {
-                return ResponseEntity.notFound().build();
+            // If-None-Match is answered with 304 before touching the database
+            String etag = qrService.serviceDeviceEtag(deviceId);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(QR_CACHE_CONTROL).build();
             }
-            
-            // Regenerate QR if missing
-            if (device.getServiceQrPath() == null) {
-                qrService.generateServiceDeviceQR(device);
-                deviceService.updateDevice(deviceId, device);
-            }
-            
-            byte[] qrData = qrService.getQRFile(device.getServiceQrPath());
-            if (qrData == null) {
+
+            if (deviceService.getDeviceById(deviceId).isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
+            // Randat în memorie la prima cerere, apoi servit din cache
+            byte[] qrData = qrService.getServiceDevicePng(deviceId);
+            
             return ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_PNG)
+                .eTag(etag)
+                .cacheControl(QR_CACHE_CONTROL)
                 .header(HttpHeaders.CONTENT_DISPOSITION, 
                        "inline; filename=\"service-device-" + deviceId + ".png\"")
                 .body(new ByteArrayResource(qrData));
@@ -101,6 +117,27 @@ public class QrResource {
         }
     }
     
+    /**
+     * ZIP with all client and service QR labels of an order, a list of devices or an intake date range.
+     * Streamed while rendering, so large batches are never held in memory whole.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/labels")
+    public ResponseEntity<StreamingResponseBody> getLabels(
+            @RequestParam(required = false) Long orderId,
+            @RequestParam(required = false) List<Long> deviceIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        // Resolved before streaming starts, so a bad selector is still a clean 400
+        List<QrLabelService.QrLabel> labels = qrLabelService.resolveLabels(orderId, deviceIds, from, to);
+        String fileName = orderId != null ? "qr-labels-order-" + orderId + ".zip" : "qr-labels.zip";
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(out -> qrLabelService.writeZip(labels, out));
+    }
+    
     /**
      * Get QR link (URL) for client order
      */
@@ -4,6 +4,7 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 
+import com.example.backend.security.JwtClaims;
 import com.example.backend.security.JwtUtil;
 import com.example.backend.domain.User;
 import com.example.backend.dto.LoginRequest;
@@ -88,7 +90,7 @@ public class UserResource {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
             // Get user details
-            User user = userService.getUserByUsername(loginRequest.getUsername()).orElse(null);
+            UserListDTO user = userService.getUserDTOByUsername(loginRequest.getUsername()).orElse(null);
             
             if (user == null) {
                 Map<String, String> error = new HashMap<>();
@@ -131,32 +133,28 @@ public class UserResource {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            try {
-                String username = jwtUtil.getUsernameFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
-                String email = jwtUtil.getEmailFromToken(token);
-                Long userId = jwtUtil.getUserIdFromToken(token);
-                
-                Map<String, Object> userInfo = new HashMap<>();
-                userInfo.put("username", username);
-                userInfo.put("role", role);
-                userInfo.put("email", email);
-                userInfo.put("userId", userId);
-                userInfo.put("tokenValid", jwtUtil.validateJwtToken(token));
-                userInfo.put("tokenExpired", jwtUtil.isTokenExpired(token));
-                
-                return ResponseEntity.ok(userInfo);
-            } catch (Exception e) {
-                return ResponseEntity.status(401).body("Invalid token: " + e.getMessage());
+            Optional<JwtClaims> claims = jwtUtil.verify(token);
+            if (claims.isEmpty()) {
+                return ResponseEntity.status(401).body("Invalid token");
             }
+
+            Map<String, Object> userInfo = new HashMap<>();
+            userInfo.put("username", claims.get().username());
+            userInfo.put("role", claims.get().role());
+            userInfo.put("email", claims.get().email());
+            userInfo.put("userId", claims.get().userId());
+            userInfo.put("tokenValid", true);
+            userInfo.put("tokenExpired", false);
+
+            return ResponseEntity.ok(userInfo);
         }
         return ResponseEntity.status(401).body("No token provided");
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUser(@PathVariable(value = "id") Long id) {
-        return userService.getUserById(id)
+    public ResponseEntity<UserListDTO> getUser(@PathVariable(value = "id") Long id) {
+        return userService.getUserDTOById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(ResponseEntity.notFound()::build);
     }
@@ -165,16 +163,7 @@ public class UserResource {
     @GetMapping("/all")
     public ResponseEntity<List<UserListDTO>> getAllUsers() {
         List<UserListDTO> users = userService.getAllUsers().stream()
-            .map(user -> {
-                UserListDTO dto = new UserListDTO();
-                dto.setId(user.getId());
-                dto.setUsername(user.getUsername());
-                dto.setEmail(user.getEmail());
-                dto.setPhone(user.getPhone());
-                dto.setRole(user.getRole());
-                dto.setCreatedAt(user.getCreatedAt());
-                return dto;
-            })
+            .map(UserService::toListDTO)
             .toList();
         return ResponseEntity.ok(users);
     }
@@ -215,8 +204,8 @@ public class UserResource {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/username/{username}")
-    public ResponseEntity<User> getUserByUsername(@PathVariable(value = "username") String username) {
-        return userService.getUserByUsername(username)
+    public ResponseEntity<UserListDTO> getUserByUsername(@PathVariable(value = "username") String username) {
+        return userService.getUserDTOByUsername(username)
                 .map(ResponseEntity::ok)
                 .orElseGet(ResponseEntity.notFound()::build);
     }
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.springframework.security.core.userdetails.User;
 
@@ -31,42 +32,26 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     @org.springframework.lang.NonNull HttpServletResponse response,
                                     @org.springframework.lang.NonNull FilterChain filterChain) throws ServletException, IOException {
         String header = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
-        if (header != null && header.startsWith("Bearer ")) {
-            token = header.substring(7);
-            try {
-                username = jwtUtil.getUsernameFromToken(token);
-            } catch (Exception e) {
-                System.out.println("❌ JWT parsing error: " + e.getMessage());
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                if (jwtUtil.validateJwtToken(token)) {
-                    // Get role from JWT token and create authorities
-                    String role = jwtUtil.getRoleFromToken(token);
-                    String authorityName = role.startsWith("ROLE_") ? role : "ROLE_" + role;
-
-                    System.out.println("🔍 JWT Filter - User: " + username + ", Role from token: " + role + ", Authority: " + authorityName);
-
-                    // Create a simple user with the role from JWT
-                    UserDetails userDetails = User.withUsername(username)
-                            .password("") // Password not needed for JWT auth
-                            .authorities(authorityName)
-                            .build();
+        if (header != null && header.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // O singură verificare per token; cererile următoare cu același token vin din cache
+            Optional<JwtClaims> claims = jwtUtil.verify(header.substring(7));
+            if (claims.isPresent() && claims.get().username() != null) {
+                String username = claims.get().username();
+                String role = claims.get().role() != null ? claims.get().role() : "USER";
+                String authorityName = role.startsWith("ROLE_") ? role : "ROLE_" + role;
 
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                // Create a simple user with the role from JWT
+                UserDetails userDetails = User.withUsername(username)
+                        .password("") // Password not needed for JWT auth
+                        .authorities(authorityName)
+                        .build();
 
-                    System.out.println("✅ Authentication set for user: " + username + " with authorities: " + userDetails.getAuthorities());
-                }
-            } catch (Exception e) {
-                System.out.println("❌ Authentication error: " + e.getMessage());
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         filterChain.doFilter(request, response);
@@ -0,0 +1,14 @@
+package com.example.backend.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has already been verified. Immutable, so one instance
+ * can be shared by every request that presents the same token.
+ */
+public record JwtClaims(String username, String role, String email, Long userId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,16 +1,59 @@
 package com.example.backend.security;
 
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.impl.TextCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
+@Slf4j
 @Component
 public class JwtUtil {
     private final String jwtSecret = "gf7fsf8hlvn231plfd8hjah328dgftq0g503nfnzp2"; // pune o cheie mai sigură în producție
     private final long jwtExpirationMs = 604800000; // 7 zile
+    // Decodată o singură dată, la fel cum ar decoda-o jjwt la fiecare parsare
+    private final byte[] signingKey = TextCodec.BASE64.decode(jwtSecret);
+
+    // Tokenuri deja verificate, cheie = SHA-256 al tokenului; fiecare intrare expiră odată cu tokenul
+    private final Cache<String, JwtClaims> verifiedClaims;
+
+    public JwtUtil(@Value("${app.jwt.claims-cache-size:10000}") long claimsCacheSize) {
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     // Remove the UserService dependency to break circular reference
     public String generateToken(String username, String role, String email, Long userId) {
@@ -24,45 +67,84 @@ public class JwtUtil {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
+    /**
+     * Claims of a valid, unexpired token, or empty if the token is malformed, forged or expired.
+     * A token is verified once; later calls with the same token are served from the cache.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String key = hash(token);
+        JwtClaims cached = verifiedClaims.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+        try {
+            JwtClaims claims = parseVerified(token);
+            verifiedClaims.put(key, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT validation error: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Verifies the signature and expiry and decodes the claims in a single pass, without the cache.
+     */
+    public JwtClaims parseVerified(String token) {
+        Claims claims = Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody();
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("email", String.class),
+                claims.get("userId", Long.class),
+                claims.getExpiration().toInstant());
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
+        return claimsOf(token).username();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-        return claims.get("role", String.class);
+        return claimsOf(token).role();
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-        return claims.get("email", String.class);
+        return claimsOf(token).email();
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-        return claims.get("userId", Long.class);
+        return claimsOf(token).userId();
     }
 
     public Date getExpirationDateFromToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getExpiration();
+        return Date.from(claimsOf(token).expiresAt());
     }
 
     public boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return claimsOf(token).isExpired(Instant.now());
     }
 
     public boolean validateJwtToken(String authToken) {
+        return verify(authToken).isPresent();
+    }
+
+    private JwtClaims claimsOf(String token) {
+        return verify(token).orElseThrow(() -> new JwtException("Invalid or expired JWT token"));
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            System.out.println("JWT validation error: " + e.getMessage());
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-}
\ No newline at end of file
+}
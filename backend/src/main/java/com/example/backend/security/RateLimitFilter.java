@@ -2,44 +2,110 @@ package com.example.backend.security;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Per-client request limit. Buckets live in a bounded Caffeine cache: a client idle for
+ * longer than {@code idle-expiry} gets a fresh (full) bucket anyway, so dropping it loses
+ * nothing, and {@code max-buckets} caps the heap used by spoofed or one-off addresses.
+ * X-Forwarded-For is only honoured when the direct peer is one of the trusted proxies.
+ * <p>
+ * Limits come from the ordered app.rate-limit.policies list (see {@link RateLimitPolicy}).
+ * Runs before JwtAuthFilter and verifies the bearer token itself (JwtUtil caches verified
+ * claims, and a forged token fails a cheap HMAC check): only a valid token gets the
+ * AUTHENTICATED policies and a bucket per user; everything else is limited per client address.
+ */
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    // Used when no policy is configured or none matches: the old flat limit
+    private static final RateLimitPolicy DEFAULT_POLICY =
+            new RateLimitPolicy("default", List.of("/**"), RateLimitPolicy.PrincipalType.ANY, 100, Duration.ofMinutes(1));
+
+    private final Cache<String, Bucket> buckets;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final List<CompiledPolicy> policies;
+    private final CompiledPolicy fallback;
+    private final JwtUtil jwtUtil;
 
-    private Bucket createNewBucket() {
-        // Allow 100 requests per minute
-        Bandwidth limit = Bandwidth.classic(100, Refill.intervally(100, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
+    public RateLimitFilter(JwtUtil jwtUtil,
+                           MeterRegistry meterRegistry,
+                           Environment environment,
+                           @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+                           @Value("${app.rate-limit.idle-expiry:PT10M}") Duration idleExpiry,
+                           @Value("${app.rate-limit.trusted-proxies:127.0.0.1/32,::1/128}") List<String> trustedProxies) {
+        this.jwtUtil = jwtUtil;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
                 .build();
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(cidr -> !cidr.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+
+        // Patterns are parsed once here; a request only walks the precompiled list
+        this.policies = Binder.get(environment)
+                .bind("app.rate-limit.policies", Bindable.listOf(RateLimitPolicy.class))
+                .orElse(List.of())
+                .stream()
+                .map(policy -> new CompiledPolicy(policy, meterRegistry))
+                .toList();
+        this.fallback = new CompiledPolicy(DEFAULT_POLICY, meterRegistry);
+
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate-limit buckets currently held in memory")
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
-        String key = getClientKey(request);
-        Bucket bucket = cache.computeIfAbsent(key, k -> createNewBucket());
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String username = verifiedUsername(request);
+        CompiledPolicy policy = policyFor(PathContainer.parsePath(path), username != null);
+        String key = policy.name() + ":" + (username != null ? "user:" + username : getClientKey(request));
+        // Existing buckets are read without locking; only a new client takes the slow path
+        Bucket bucket = buckets.get(key, k -> Bucket.builder().addLimit(policy.bandwidth()).build());
 
-        if (bucket.tryConsume(1)) {
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            policy.allowed().increment();
             filterChain.doFilter(request, response);
         } else {
+            policy.rejected().increment();
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After",
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()))));
             response.setContentType("application/json");
             response.getWriter().write(
                 "{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded. Please try again later.\"}"
@@ -47,11 +113,86 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
     }
 
+    private CompiledPolicy policyFor(PathContainer path, boolean authenticated) {
+        for (CompiledPolicy policy : policies) {
+            if (policy.matches(path, authenticated)) {
+                return policy;
+            }
+        }
+        return fallback;
+    }
+
+    // User of a valid bearer token, or null; a missing, forged or expired token counts as anonymous
+    private String verifiedUsername(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return jwtUtil.verify(header.substring(7)).map(JwtClaims::username).orElse(null);
+    }
+
     private String getClientKey(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty()) {
-            ip = request.getRemoteAddr();
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isEmpty() || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        // Each proxy appends the address it received the request from; walk back from the
+        // nearest hop and stop at the first address that is not one of our own proxies
+        List<String> hops = Arrays.stream(forwardedFor.split(","))
+                .map(String::trim)
+                .filter(hop -> !hop.isEmpty())
+                .toList();
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            if (!isTrustedProxy(hops.get(i))) {
+                return hops.get(i);
+            }
+        }
+        return hops.isEmpty() ? remoteAddr : hops.get(0);
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP address (garbage in X-Forwarded-For)
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private record CompiledPolicy(RateLimitPolicy policy, List<PathPattern> patterns, Counter allowed, Counter rejected) {
+
+        CompiledPolicy(RateLimitPolicy policy, MeterRegistry meterRegistry) {
+            this(policy,
+                 policy.paths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                 Counter.builder("ratelimit.requests").tag("policy", policy.name()).tag("result", "allowed").register(meterRegistry),
+                 Counter.builder("ratelimit.requests").tag("policy", policy.name()).tag("result", "rejected").register(meterRegistry));
+        }
+
+        String name() {
+            return policy.name();
+        }
+
+        Bandwidth bandwidth() {
+            return policy.bandwidth();
+        }
+
+        boolean matches(PathContainer path, boolean authenticated) {
+            if (!policy.appliesTo(authenticated)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
         }
-        return ip;
     }
 }
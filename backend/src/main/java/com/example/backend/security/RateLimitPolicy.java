@@ -0,0 +1,41 @@
+package com.example.backend.security;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Refill;
+
+/**
+ * One rate-limit tier, bound from app.rate-limit.policies[n]. A request gets the first policy
+ * whose principal type and one of whose path patterns (Spring path pattern syntax) match.
+ * Each policy keeps its own buckets, per user when authenticated (a verified bearer token) and
+ * per client address otherwise.
+ */
+public record RateLimitPolicy(String name, List<String> paths, PrincipalType principal, long capacity, Duration period) {
+
+    public enum PrincipalType { ANY, ANONYMOUS, AUTHENTICATED }
+
+    public RateLimitPolicy {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Rate-limit policy needs a name");
+        }
+        if (capacity <= 0 || period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate-limit policy '" + name + "' needs a positive capacity and period");
+        }
+        paths = paths == null || paths.isEmpty() ? List.of("/**") : List.copyOf(paths);
+        principal = principal == null ? PrincipalType.ANY : principal;
+    }
+
+    public boolean appliesTo(boolean authenticated) {
+        return switch (principal) {
+            case ANY -> true;
+            case ANONYMOUS -> !authenticated;
+            case AUTHENTICATED -> authenticated;
+        };
+    }
+
+    public Bandwidth bandwidth() {
+        return Bandwidth.classic(capacity, Refill.intervally(capacity, period));
+    }
+}
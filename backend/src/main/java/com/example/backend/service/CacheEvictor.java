@@ -0,0 +1,43 @@
+package com.example.backend.service;
+
+import java.util.Collection;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.domain.Device;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evictions whose keys are only known inside a service method (the order of a device,
+ * the devices of an order), where {@code @CacheEvict} on the parameters is not enough.
+ * The cache manager is transaction aware, so evictions take effect after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheEvictor {
+    private final CacheManager cacheManager;
+
+    public void orderDetails(Long orderId) {
+        evict("orders", orderId);
+    }
+
+    public void device(Long deviceId) {
+        evict("devices", deviceId);
+    }
+
+    public void devices(Collection<Device> devices) {
+        if (devices != null) {
+            devices.forEach(device -> device(device.getId()));
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.backend.service;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.domain.Client;
+import com.example.backend.dto.ClientListDTO;
+import com.example.backend.repo.ClientRepo;
+import com.example.backend.util.PrefixTrie;
+import com.example.backend.util.TransactionCallbacks;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory prefix index for picking a client while typing: name, surname, both orders of the
+ * full name, phone digits and CUI, without diacritics and case-insensitive. Built from the
+ * database once, then kept up to date by ClientService after each commit, so lookups never
+ * touch the database.
+ * <p>
+ * Phones are indexed both as typed and in the other Romanian form (0722... and 40722...), so
+ * either prefix finds them.
+ */
+@Slf4j
+@Component
+public class ClientAutocompleteIndex {
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NOT_DIGIT = Pattern.compile("\\D+");
+
+    private final ClientRepo clientRepo;
+    private final int maxResults;
+
+    private final PrefixTrie trie = new PrefixTrie();
+    private final Map<Long, ClientListDTO> clients = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+
+    public ClientAutocompleteIndex(ClientRepo clientRepo,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.autocomplete.max-results:20}") int maxResults) {
+        this.clientRepo = clientRepo;
+        this.maxResults = maxResults;
+
+        Gauge.builder("clients.autocomplete.keys", this, ClientAutocompleteIndex::size)
+                .description("Keys in the client autocomplete index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        ensureBuilt();
+    }
+
+    /**
+     * Up to {@code limit} clients with a key starting with the query, in alphabetical order of
+     * the matching key: a key comes before its extensions ("pop" before "popa"), but otherwise
+     * length does not count ("popaaaa" before "popb"). A query without letters is matched
+     * against phone and CUI digits only, ignoring spaces, dashes and a leading +.
+     */
+    public List<ClientListDTO> suggest(String query, int limit) {
+        ensureBuilt();
+        String prefix = queryKey(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.max(1, Math.min(limit, maxResults));
+        Set<Long> ids = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            trie.collect(prefix, max, ids);
+            return ids.stream().map(clients::get).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Write side: applied after commit, so rolled back changes never reach the index
+
+    public void clientSaved(Client client) {
+        ClientListDTO snapshot = ClientService.toListDTO(client);
+        TransactionCallbacks.afterCommit(() -> put(snapshot));
+    }
+
+    public void clientDeleted(Long id) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeKeys(clients.remove(id));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void put(ClientListDTO client) {
+        lock.writeLock().lock();
+        try {
+            removeKeys(clients.put(client.getId(), client));
+            for (String key : keys(client)) {
+                trie.add(key, client.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeKeys(ClientListDTO previous) {
+        if (previous != null) {
+            for (String key : keys(previous)) {
+                trie.remove(key, previous.getId());
+            }
+        }
+    }
+
+    // Built under the write lock: changes committed meanwhile wait and are applied on top
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                return;
+            }
+            trie.clear();
+            clients.clear();
+            List<Client> page = clientRepo.findPageAfter(0L, Pageable.ofSize(BUILD_PAGE_SIZE));
+            while (!page.isEmpty()) {
+                page.forEach(client -> put(ClientService.toListDTO(client)));
+                page = clientRepo.findPageAfter(page.get(page.size() - 1).getId(), Pageable.ofSize(BUILD_PAGE_SIZE));
+            }
+            built = true;
+            log.info("Client autocomplete index built: {} clients, {} keys", clients.size(), trie.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return trie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> keys(ClientListDTO client) {
+        Set<String> keys = new LinkedHashSet<>();
+        String name = text(client.getName());
+        String surname = text(client.getSurname());
+        keys.add(name);
+        keys.add(surname);
+        keys.add((name + " " + surname).trim());
+        keys.add((surname + " " + name).trim());
+
+        String phone = digits(client.getPhone());
+        keys.add(phone);
+        if (phone.startsWith("40")) {
+            keys.add("0" + phone.substring(2));
+        } else if (phone.startsWith("0")) {
+            keys.add("40" + phone.substring(1));
+        }
+
+        // CUI as written (RO12345678 -> ro12345678) and as its digits
+        keys.add(text(client.getCui()).replace(" ", ""));
+        keys.add(digits(client.getCui()));
+        keys.remove("");
+        return keys;
+    }
+
+    private static String queryKey(String query) {
+        String key = text(query);
+        return key.chars().anyMatch(Character::isLetter) ? key : digits(query);
+    }
+
+    // Lower case, without diacritics (ș -> s, ă -> a), runs of other characters as one space
+    private static String text(String value) {
+        if (value == null) {
+            return "";
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return NOT_ALPHANUMERIC.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String digits(String value) {
+        return value == null ? "" : NOT_DIGIT.matcher(value).replaceAll("");
+    }
+}
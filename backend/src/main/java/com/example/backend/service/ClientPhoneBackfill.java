@@ -0,0 +1,66 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.repo.ClientPhone;
+import com.example.backend.repo.ClientRepo;
+import com.example.backend.util.PhoneNumbers;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills client.phone_e164 for clients saved before the column existed; new writes compute it
+ * in Client itself. Runs on every start but only touches rows still without a value, one
+ * transaction per page. Phones that are not a valid number stay null and are skipped.
+ */
+@Slf4j
+@Component
+public class ClientPhoneBackfill {
+    private static final int PAGE_SIZE = 500;
+
+    private final ClientRepo clientRepo;
+    private final TransactionTemplate transaction;
+
+    public ClientPhoneBackfill(ClientRepo clientRepo, PlatformTransactionManager transactionManager) {
+        this.clientRepo = clientRepo;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int normalized = 0;
+        int invalid = 0;
+        long afterId = 0L;
+        List<ClientPhone> page = clientRepo.findPhonesToNormalizeAfter(afterId, Pageable.ofSize(PAGE_SIZE));
+        while (!page.isEmpty()) {
+            List<ClientPhone> current = page;
+            int[] counts = transaction.execute(status -> {
+                int updated = 0;
+                int skipped = 0;
+                for (ClientPhone client : current) {
+                    String phoneE164 = PhoneNumbers.toE164(client.getPhone());
+                    if (phoneE164 == null) {
+                        skipped++;
+                    } else {
+                        updated += clientRepo.setPhoneE164(client.getId(), client.getPhone(), phoneE164);
+                    }
+                }
+                return new int[] {updated, skipped};
+            });
+            normalized += counts[0];
+            invalid += counts[1];
+            afterId = current.get(current.size() - 1).getId();
+            page = clientRepo.findPhonesToNormalizeAfter(afterId, Pageable.ofSize(PAGE_SIZE));
+        }
+        if (normalized > 0 || invalid > 0) {
+            log.info("Normalized {} client phone numbers, {} are not valid numbers", normalized, invalid);
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.example.backend.service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import com.example.backend.domain.Client;
+import com.example.backend.domain.Order;
+import com.example.backend.dto.ClientListDTO;
+import com.example.backend.dto.CursorPage;
 import com.example.backend.repo.ClientRepo;
 import com.example.backend.specification.ClientSpecification;
+import com.example.backend.specification.KeysetSpecification;
+import com.example.backend.util.KeysetCursor;
+import com.example.backend.util.PhoneNumbers;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +36,15 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(rollbackOn = Exception.class)
 @RequiredArgsConstructor
 public class ClientService {
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("id", "name", "surname", "email", "type", "cui");
+
     private final ClientRepo clientRepo;
+    private final DashboardCounters dashboardCounters;
+    private final OrderMonthlyRollupService monthlyRollupService;
+    private final CacheEvictor cacheEvictor;
+    private final PublicOrderViewService publicOrderViewService;
+    private final SearchService searchService;
+    private final ClientAutocompleteIndex autocompleteIndex;
     
     public Client addClient(Client client) {
         log.info("Adding new client: {}", client);
@@ -52,15 +75,33 @@ public class ClientService {
         }
         
         Client savedClient = clientRepo.save(client);
+        dashboardCounters.clientAdded();
+        autocompleteIndex.clientSaved(savedClient);
         log.info("Client added successfully with ID: {}", savedClient.getId());
         return savedClient;
     }
     
+    // Client name, phone and email appear in the cached order details too
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "clients", key = "#id"),
+        @CacheEvict(cacheNames = "orders", allEntries = true)
+    })
     public void deleteClient(Long id) {
         log.info("Deleting client with ID: {}", id);
         clientRepo.findClientById(id)
                 .ifPresentOrElse(client -> {
+                    // Comenzile clientului se șterg în cascadă, împreună cu vederea lor publică;
+                    // contoarele, rollup-ul lunar și cache-ul dispozitivelor trec prin aceleași
+                    // actualizări ca la OrderService.deleteOrder
+                    for (Order order : client.getOrders()) {
+                        dashboardCounters.orderDeleted(order.getStatus(), OrderService.deviceStatuses(order));
+                        monthlyRollupService.orderDeleted(order);
+                        cacheEvictor.devices(order.getDevices());
+                    }
+                    publicOrderViewService.clientDeleted(id);
                     clientRepo.delete(client);
+                    dashboardCounters.clientDeleted();
+                    autocompleteIndex.clientDeleted(id);
                     log.info("Client with ID: {} deleted successfully", id);
                 }, () -> {
                     log.warn("Client with ID: {} not found", id);
@@ -68,6 +109,10 @@ public class ClientService {
                 });
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "clients", key = "#id"),
+        @CacheEvict(cacheNames = "orders", allEntries = true)
+    })
     public Client updateClient(Long id, Client updatedClient) {
         log.info("Updating client with ID: {}", id);
         return clientRepo.findClientById(id)
@@ -104,8 +149,11 @@ public class ClientService {
                         client.setType(updatedClient.getType());
                     }
                     
+                    Client savedClient = clientRepo.save(client);
+                    publicOrderViewService.clientUpdated(savedClient);
+                    autocompleteIndex.clientSaved(savedClient);
                     log.info("Client with ID: {} updated successfully", id);
-                    return clientRepo.save(client);
+                    return savedClient;
                 })
                 .orElseThrow(() -> new RuntimeException("Client not found with ID: " + id));
     }
@@ -115,6 +163,12 @@ public class ClientService {
         return clientRepo.findClientById(id);
     }
 
+    @Cacheable(cacheNames = "clients", key = "#id", unless = "#result == null")
+    public Optional<ClientListDTO> getClientDTOById(Long id) {
+        log.info("Fetching client snapshot with ID: {}", id);
+        return clientRepo.findClientById(id).map(ClientService::toListDTO);
+    }
+
     public List<Client> getAllClients() {
         log.info("Fetching all clients");
         return clientRepo.findAll();
@@ -135,6 +189,21 @@ public class ClientService {
         return clientRepo.findByCui(cui);
     }
 
+    /**
+     * Clients with the given phone number, in any format (0722 123 456, +40722123456, ...):
+     * normalized once here and matched exactly on the indexed phone_e164 column.
+     */
+    public List<ClientListDTO> getClientsByPhone(String phone) {
+        log.info("Fetching clients by phone: {}", phone);
+        String phoneE164 = PhoneNumbers.toE164(phone);
+        if (phoneE164 == null) {
+            return List.of();
+        }
+        return clientRepo.findByPhoneE164(phoneE164).stream()
+                .map(ClientService::toListDTO)
+                .toList();
+    }
+
     public boolean clientExistsByEmail(String email) {
         log.info("Checking if client exists by email: {}", email);
         return clientRepo.existsByEmail(email);
@@ -143,20 +212,82 @@ public class ClientService {
     public List<Client> getFilteredClients(String searchTerm, String type) {
         log.info("Filtering clients with searchTerm: {}, type: {}", searchTerm, type);
         
-        Specification<Client> spec = ClientSpecification.filterClients(searchTerm, type);
-        return clientRepo.findAll(spec);
+        if (!StringUtils.hasText(searchTerm) || !searchService.isFulltextEnabled()) {
+            return clientRepo.findAll(ClientSpecification.filterClients(searchTerm, type));
+        }
+        // Fără sortare cerută, rezultatele rămân în ordinea relevanței
+        List<Long> ids = searchService.searchClientIds(searchTerm);
+        Map<Long, Integer> rank = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            rank.putIfAbsent(ids.get(i), i);
+        }
+        List<Client> clients = new ArrayList<>(clientRepo.findAll(ClientSpecification.filterClients(ids, type)));
+        clients.sort(Comparator.comparingInt(client -> rank.get(client.getId())));
+        return clients;
     }
 
     public Page<Client> getFilteredPagedClients(String searchTerm, String type, Pageable pageable) {
         log.info("Filtering paged clients: searchTerm={}, type={}, page={}, size={}", 
                  searchTerm, type, pageable.getPageNumber(), pageable.getPageSize());
         
-        Specification<Client> spec = ClientSpecification.filterClients(searchTerm, type);
+        Specification<Client> spec = searchSpec(searchTerm, type);
         return clientRepo.findAll(spec, pageable);
     }
 
+    /**
+     * Keyset variant of {@link #getFilteredPagedClients}: seeks past the cursor instead of
+     * skipping rows and does not count, so every page costs the same as the first one.
+     */
+    public CursorPage<ClientListDTO> getFilteredClientsAfter(String searchTerm, String type,
+                                                             String sortBy, boolean ascending, String after, int size) {
+        log.info("Filtering clients by cursor: searchTerm={}, type={}, sortBy={}, size={}", 
+                 searchTerm, type, sortBy, size);
+        if (!KEYSET_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor listing can be sorted by " + KEYSET_SORT_FIELDS + " only");
+        }
+        int pageSize = KeysetSpecification.pageSize(size);
+
+        Specification<Client> spec = searchSpec(searchTerm, type);
+        if (after != null) {
+            spec = spec.and(KeysetSpecification.after(after, sortBy, ascending));
+        }
+        List<ClientListDTO> rows = clientRepo.findBy(spec, query -> query
+                        .sortBy(KeysetSpecification.sort(sortBy, ascending))
+                        .limit(pageSize + 1)
+                        .all())
+                .stream()
+                .map(ClientService::toListDTO)
+                .toList();
+        return CursorPage.of(rows, pageSize, last -> KeysetCursor.of(sortBy, ascending, switch (sortBy) {
+            case "name" -> last.getName();
+            case "surname" -> last.getSurname();
+            case "email" -> last.getEmail();
+            case "type" -> last.getType();
+            case "cui" -> last.getCui();
+            default -> last.getId();
+        }, last.getId()).encode());
+    }
+
+    private Specification<Client> searchSpec(String searchTerm, String type) {
+        if (!StringUtils.hasText(searchTerm) || !searchService.isFulltextEnabled()) {
+            return ClientSpecification.filterClients(searchTerm, type);
+        }
+        return ClientSpecification.filterClients(searchService.searchClientIds(searchTerm), type);
+    }
+
     public long getNumberOfClients() {
         log.info("Fetching total number of clients");
         return clientRepo.count();
     }
-}
\ No newline at end of file
+
+    static ClientListDTO toListDTO(Client client) {
+        return new ClientListDTO(
+                client.getId(),
+                client.getName(),
+                client.getSurname(),
+                client.getEmail(),
+                client.getPhone(),
+                client.getType(),
+                client.getCui());
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.repo.ClientRepo;
+import com.example.backend.repo.DeviceRepo;
+import com.example.backend.repo.OrderRepo;
+import com.example.backend.repo.StatusCount;
+import com.example.backend.repo.UserRepo;
+import com.example.backend.util.TransactionCallbacks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory dashboard counters. Seeded from the database once, then kept up to date
+ * by the service methods that create, delete or change the status of orders and devices.
+ * Deltas are applied after commit, so rolled back writes never touch the counters.
+ * A periodic reconciliation compares against real counts and exposes the drift as a metric.
+ */
+@Slf4j
+@Component
+public class DashboardCounters {
+    private final OrderRepo orderRepo;
+    private final DeviceRepo deviceRepo;
+    private final ClientRepo clientRepo;
+    private final UserRepo userRepo;
+
+    private final Map<String, AtomicLong> orderStatusCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> deviceStatusCounts = new ConcurrentHashMap<>();
+    private final AtomicLong clientCount = new AtomicLong();
+    private final AtomicLong userCount = new AtomicLong();
+
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final Counter driftCorrections;
+    private volatile boolean seeded;
+
+    public DashboardCounters(OrderRepo orderRepo, DeviceRepo deviceRepo, ClientRepo clientRepo,
+                             UserRepo userRepo, MeterRegistry meterRegistry) {
+        this.orderRepo = orderRepo;
+        this.deviceRepo = deviceRepo;
+        this.clientRepo = clientRepo;
+        this.userRepo = userRepo;
+
+        Gauge.builder("dashboard.counters.drift", lastDrift, AtomicLong::get)
+                .description("Absolute difference between in-memory dashboard counters and the database at the last reconciliation")
+                .register(meterRegistry);
+        this.driftCorrections = Counter.builder("dashboard.counters.corrections")
+                .description("Reconciliations that found and corrected drift")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        ensureSeeded();
+    }
+
+    /**
+     * Compares the counters against the database and replaces them when they differ.
+     * Writes committed between the database read and the replace are picked up by the next run.
+     */
+    @Scheduled(initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Snapshot actual = loadSnapshot();
+        long drift = drift(orderStatusCounts, actual.orderStatusCounts())
+                + drift(deviceStatusCounts, actual.deviceStatusCounts())
+                + Math.abs(clientCount.get() - actual.clients())
+                + Math.abs(userCount.get() - actual.users());
+        lastDrift.set(drift);
+
+        if (drift > 0) {
+            log.warn("Dashboard counters drifted by {} from database counts, resetting", drift);
+            driftCorrections.increment();
+            apply(actual);
+        } else {
+            log.debug("Dashboard counters in sync with database");
+        }
+    }
+
+    // Read side
+
+    public long getOrderCount(String status) {
+        ensureSeeded();
+        AtomicLong count = orderStatusCounts.get(key(status));
+        return count != null ? count.get() : 0L;
+    }
+
+    public long getDeviceCount(String status) {
+        ensureSeeded();
+        AtomicLong count = deviceStatusCounts.get(key(status));
+        return count != null ? count.get() : 0L;
+    }
+
+    public long getTotalOrders() {
+        ensureSeeded();
+        return total(orderStatusCounts);
+    }
+
+    public long getTotalDevices() {
+        ensureSeeded();
+        return total(deviceStatusCounts);
+    }
+
+    public long getTotalClients() {
+        ensureSeeded();
+        return clientCount.get();
+    }
+
+    public long getTotalUsers() {
+        ensureSeeded();
+        return userCount.get();
+    }
+
+    // Write side, called from the service layer inside the mutating transaction
+
+    public void orderCreated(String status, Collection<String> deviceStatuses) {
+        List<String> devices = new ArrayList<>(deviceStatuses);
+        TransactionCallbacks.afterCommit(() -> {
+            add(orderStatusCounts, status, 1);
+            devices.forEach(deviceStatus -> add(deviceStatusCounts, deviceStatus, 1));
+        });
+    }
+
+    public void orderDeleted(String status, Collection<String> deviceStatuses) {
+        List<String> devices = new ArrayList<>(deviceStatuses);
+        TransactionCallbacks.afterCommit(() -> {
+            add(orderStatusCounts, status, -1);
+            devices.forEach(deviceStatus -> add(deviceStatusCounts, deviceStatus, -1));
+        });
+    }
+
+    public void orderStatusChanged(String oldStatus, String newStatus) {
+        TransactionCallbacks.afterCommit(() -> move(orderStatusCounts, oldStatus, newStatus));
+    }
+
+    public void deviceAdded(String status) {
+        TransactionCallbacks.afterCommit(() -> add(deviceStatusCounts, status, 1));
+    }
+
+    public void deviceDeleted(String status) {
+        TransactionCallbacks.afterCommit(() -> add(deviceStatusCounts, status, -1));
+    }
+
+    public void deviceStatusChanged(String oldStatus, String newStatus) {
+        TransactionCallbacks.afterCommit(() -> move(deviceStatusCounts, oldStatus, newStatus));
+    }
+
+    public void clientAdded() {
+        TransactionCallbacks.afterCommit(clientCount::incrementAndGet);
+    }
+
+    public void clientDeleted() {
+        TransactionCallbacks.afterCommit(clientCount::decrementAndGet);
+    }
+
+    public void userAdded() {
+        TransactionCallbacks.afterCommit(userCount::incrementAndGet);
+    }
+
+    public void userDeleted() {
+        TransactionCallbacks.afterCommit(userCount::decrementAndGet);
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            synchronized (this) {
+                if (!seeded) {
+                    apply(loadSnapshot());
+                    seeded = true;
+                    log.info("Dashboard counters seeded: {} orders, {} devices, {} clients, {} users",
+                             total(orderStatusCounts), total(deviceStatusCounts), clientCount.get(), userCount.get());
+                }
+            }
+        }
+    }
+
+    private Snapshot loadSnapshot() {
+        return new Snapshot(
+                toCounts(orderRepo.countGroupedByStatus()),
+                toCounts(deviceRepo.countGroupedByStatus()),
+                clientRepo.count(),
+                userRepo.count());
+    }
+
+    private void apply(Snapshot snapshot) {
+        replace(orderStatusCounts, snapshot.orderStatusCounts());
+        replace(deviceStatusCounts, snapshot.deviceStatusCounts());
+        clientCount.set(snapshot.clients());
+        userCount.set(snapshot.users());
+    }
+
+    private static Map<String, Long> toCounts(List<StatusCount> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (StatusCount row : rows) {
+            if (row.getStatus() != null) {
+                counts.merge(key(row.getStatus()), row.getTotal(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static void replace(Map<String, AtomicLong> counters, Map<String, Long> values) {
+        counters.keySet().retainAll(values.keySet());
+        values.forEach((status, value) -> counters.computeIfAbsent(status, k -> new AtomicLong()).set(value));
+    }
+
+    private static long drift(Map<String, AtomicLong> counters, Map<String, Long> actual) {
+        long drift = 0;
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            drift += Math.abs(entry.getValue().get() - actual.getOrDefault(entry.getKey(), 0L));
+        }
+        for (Map.Entry<String, Long> entry : actual.entrySet()) {
+            if (!counters.containsKey(entry.getKey())) {
+                drift += entry.getValue();
+            }
+        }
+        return drift;
+    }
+
+    private static void move(Map<String, AtomicLong> counters, String from, String to) {
+        if (key(from).equals(key(to))) {
+            return;
+        }
+        add(counters, from, -1);
+        add(counters, to, 1);
+    }
+
+    private static void add(Map<String, AtomicLong> counters, String status, long delta) {
+        if (status != null) {
+            counters.computeIfAbsent(key(status), k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private static long total(Map<String, AtomicLong> counters) {
+        return counters.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    // Status values are matched case-insensitively, like the MySQL collation does
+    private static String key(String status) {
+        return status == null ? "" : status.toUpperCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<String, Long> orderStatusCounts, Map<String, Long> deviceStatusCounts,
+                            long clients, long users) {
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.backend.service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,10 +13,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.example.backend.domain.Order;
-import com.example.backend.repo.ClientRepo;
-import com.example.backend.repo.DeviceRepo;
+import com.example.backend.repo.MonthlyOrderCount;
 import com.example.backend.repo.OrderRepo;
-import com.example.backend.repo.UserRepo;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -29,38 +26,34 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class DashboardService {
     private final OrderRepo orderRepo;
-    private final ClientRepo clientRepo;
-    private final DeviceRepo deviceRepo;
-    private final UserRepo userRepo;
+    private final DashboardCounters dashboardCounters;
+    private final OrderMonthlyRollupService monthlyRollupService;
 
     public Map<String, Object> getDashboardStats() {
         log.info("Calculating dashboard statistics");
         Map<String, Object> stats = new HashMap<>();
         
         try {
-            // Total counts
-            long totalOrders = orderRepo.count();
-            long totalClients = clientRepo.count();
-            long totalDevices = deviceRepo.count();
-            long totalUsers = userRepo.count();
+            // Served from the in-memory counters, no database round trip
+            long totalOrders = dashboardCounters.getTotalOrders();
+            long totalDevices = dashboardCounters.getTotalDevices();
+            long totalClients = dashboardCounters.getTotalClients();
+            long totalUsers = dashboardCounters.getTotalUsers();
             
-            // Order status counts using OrderRepo for main stats
-            long completed = orderRepo.countByStatus("PREDAT");
-            long cancelled = orderRepo.countByStatus("cancelled");
+            long completed = dashboardCounters.getOrderCount("PREDAT");
+            long cancelled = dashboardCounters.getOrderCount("cancelled");
             
             // Calculate in progress as orders that are PRELUAT, IN_LUCRU, or FINALIZAT
-            long preluatCount = orderRepo.countByStatus("PRELUAT");
-            long inLucruCount = orderRepo.countByStatus("IN_LUCRU");
-            long finalizatCount = orderRepo.countByStatus("FINALIZAT");
+            long preluatCount = dashboardCounters.getOrderCount("PRELUAT");
+            long inLucruCount = dashboardCounters.getOrderCount("IN_LUCRU");
+            long finalizatCount = dashboardCounters.getOrderCount("FINALIZAT");
             long inProgress = preluatCount + inLucruCount + finalizatCount;
             
-            // Keep DeviceRepo only for awaiting parts count
-            long awaitingParts = deviceRepo.countByStatus("IN_ASTEPTARE");
+            // Devices awaiting parts
+            long awaitingParts = dashboardCounters.getDeviceCount("IN_ASTEPTARE");
             
-            // Debug logging to help identify the issue
-            log.info("Order status counts - PREDAT: {}, cancelled: {}, PRELUAT: {}, IN_LUCRU: {}, FINALIZAT: {}", 
+            log.debug("Order status counts - PREDAT: {}, cancelled: {}, PRELUAT: {}, IN_LUCRU: {}, FINALIZAT: {}", 
                      completed, cancelled, preluatCount, inLucruCount, finalizatCount);
-            log.info("Device awaiting parts count - IN_ASTEPTARE: {}", awaitingParts);
             
             stats.put("totalOrders", totalOrders);
             stats.put("totalClients", totalClients);
@@ -141,40 +134,31 @@ public class DashboardService {
         return recentOrders;
     }
 
-    public Map<String, Object> getMonthlyOrdersData() {
-        log.info("Calculating monthly orders data for charts");
+    public Map<String, Object> getMonthlyOrdersData(int months) {
+        log.info("Calculating monthly orders data for charts over {} months", months);
         Map<String, Object> monthlyData = new HashMap<>();
         
         try {
-            // Get last 12 months
             List<String> labels = new ArrayList<>();
             List<Integer> completedData = new ArrayList<>();
             List<Integer> newOrdersData = new ArrayList<>();
             
-            LocalDate currentDate = LocalDate.now();
+            LocalDate firstMonth = LocalDate.now().withDayOfMonth(1).minusMonths(months - 1);
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yyyy");
             
-            for (int i = 11; i >= 0; i--) {
-                LocalDate monthDate = currentDate.minusMonths(i);
-                String monthLabel = monthDate.format(formatter);
-                labels.add(monthLabel);
-                
-                // Get start and end of month
-                LocalDate startOfMonth = monthDate.withDayOfMonth(1);
-                LocalDate endOfMonth = monthDate.withDayOfMonth(monthDate.lengthOfMonth());
-                
-                // Convert to LocalDateTime for repository queries
-                LocalDateTime startDateTime = startOfMonth.atStartOfDay();
-                LocalDateTime endDateTime = endOfMonth.atTime(23, 59, 59);
-                
-                // Count completed orders in this month (using order status)
-                long completedCount = orderRepo.countByStatusAndCreatedAtBetween(
-                    "PREDAT", startDateTime, endDateTime);
-                completedData.add((int) completedCount);
+            // Single read from the rollup table, one row per month that has orders
+            Map<LocalDate, MonthlyOrderCount> countsByMonth = new HashMap<>();
+            for (MonthlyOrderCount row : monthlyRollupService.getMonthlyCountsFrom(firstMonth)) {
+                countsByMonth.put(row.getMonthStart(), row);
+            }
+            
+            for (int i = 0; i < months; i++) {
+                LocalDate monthStart = firstMonth.plusMonths(i);
+                labels.add(monthStart.format(formatter));
                 
-                // Count all new orders in this month
-                long newOrdersCount = orderRepo.countByCreatedAtBetween(startDateTime, endDateTime);
-                newOrdersData.add((int) newOrdersCount);
+                MonthlyOrderCount counts = countsByMonth.get(monthStart);
+                completedData.add(counts != null ? (int) counts.getCompleted() : 0);
+                newOrdersData.add(counts != null ? (int) counts.getTotal() : 0);
             }
             
             monthlyData.put("labels", labels);
@@ -189,25 +173,20 @@ public class DashboardService {
         return monthlyData;
     }
 
+    public int rebuildMonthlyOrdersData() {
+        return monthlyRollupService.rebuild();
+    }
+
     public Map<String, Object> getStatusDistribution() {
         log.info("Calculating order status distribution");
         Map<String, Object> statusData = new HashMap<>();
         
         try {
-            // Use OrderRepo for chart data - show 4 statuses (remove IN_ASTEPTARE from chart)
-            long preluatCount = orderRepo.countByStatus("PRELUAT");
-            long inLucruCount = orderRepo.countByStatus("IN_LUCRU");
-            long finalizatCount = orderRepo.countByStatus("FINALIZAT");
-            long predatCount = orderRepo.countByStatus("PREDAT");
-            
             // Labels showing 4 status values (keep IN_LUCRU, remove IN_ASTEPTARE from chart)
             List<String> labels = Arrays.asList("PRELUAT", "IN_LUCRU", "FINALIZAT", "PREDAT");
-            List<Integer> data = Arrays.asList(
-                (int) preluatCount,
-                (int) inLucruCount, 
-                (int) finalizatCount,
-                (int) predatCount
-            );
+            List<Integer> data = labels.stream()
+                .map(label -> (int) dashboardCounters.getOrderCount(label))
+                .toList();
             
             statusData.put("labels", labels);
             statusData.put("data", data);
@@ -219,7 +198,7 @@ public class DashboardService {
         
         return statusData;
     }
-    
+
     /**
      * Maps database status values to English for frontend display
      */
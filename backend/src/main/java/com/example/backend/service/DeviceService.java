@@ -6,14 +6,16 @@ import java.util.Optional;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
-import java.util.ArrayList;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import com.example.backend.domain.Device;
-import com.example.backend.domain.OrderLog;
 import com.example.backend.domain.PredefinedAccessory;
+import com.example.backend.dto.DeviceDTO;
 import com.example.backend.repo.DeviceRepo;
+import com.example.backend.repo.StatusCount;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -24,20 +26,39 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(rollbackOn = Exception.class)
 @RequiredArgsConstructor
 public class DeviceService {
+    // Accesoriile vin din enum, deci lista se construiește o singură dată
+    private static final List<String> PREDEFINED_ACCESSORIES = Arrays.stream(PredefinedAccessory.values())
+            .map(PredefinedAccessory::getDisplayName)
+            .toList();
+
     private final DeviceRepo deviceRepo;
     private final OrderService orderService;
     private final OrderLogService orderLogService; // Adăugat
+    private final DashboardCounters dashboardCounters;
+    private final CacheEvictor cacheEvictor;
+    private final QrService qrService;
+    private final PublicOrderViewService publicOrderViewService;
     
     public Device addDevice(Device device) {
         log.info("Adding new device: {}", device);
-        return deviceRepo.save(device);
+        Device savedDevice = deviceRepo.save(device);
+        qrService.assignLink(savedDevice);
+        qrService.prerenderAfterCommit(savedDevice);
+        dashboardCounters.deviceAdded(savedDevice.getStatus());
+        cacheEvictor.orderDetails(savedDevice.getOrderId());
+        publicOrderViewService.refresh(savedDevice.getOrderId());
+        return savedDevice;
     }
 
+    @CacheEvict(cacheNames = "devices", key = "#id")
     public void deleteDevice(Long id) {
         log.info("Deleting device with ID: {}", id);
         deviceRepo.findDeviceById(id)
                 .ifPresentOrElse(device -> {
                     deviceRepo.delete(device);
+                    dashboardCounters.deviceDeleted(device.getStatus());
+                    cacheEvictor.orderDetails(device.getOrderId());
+                    publicOrderViewService.refresh(device.getOrderId());
                     log.info("Device with ID: {} deleted successfully", id);
                 }, () -> {
                     log.warn("Device with ID: {} not found", id);
@@ -45,6 +66,7 @@ public class DeviceService {
                 });
     }
 
+    @CacheEvict(cacheNames = "devices", key = "#id")
     public Device updateDevice(Long id, Device updatedDevice) {
         log.info("Updating device with ID: {}", id);
         return deviceRepo.findDeviceById(id)
@@ -88,9 +110,12 @@ public class DeviceService {
                     
                     // Salvează dispozitivul
                     Device savedDevice = deviceRepo.save(device);
+                    cacheEvictor.orderDetails(savedDevice.getOrderId());
+                    publicOrderViewService.refresh(savedDevice.getOrderId());
                     
                     // Verifică dacă statusul s-a schimbat și actualizează comanda dacă este necesar
                     if (updatedDevice.getStatus() != null && !updatedDevice.getStatus().equals(previousStatus)) {
+                        dashboardCounters.deviceStatusChanged(previousStatus, updatedDevice.getStatus());
                         synchronizeOrderStatus(savedDevice.getOrder().getId());
                     }
                     
@@ -105,25 +130,30 @@ public class DeviceService {
      */
     private void synchronizeOrderStatus(Long orderId) {
         log.info("Synchronizing order status for order ID: {}", orderId);
-        List<Device> devices = getDevicesByOrder(orderId);
+        // Doar numărătoarea pe status, fără a încărca dispozitivele
+        List<StatusCount> statusCounts = deviceRepo.countGroupedByStatusForOrder(orderId);
+        
+        long total = 0;
+        long finished = 0;
+        long inProgress = 0;
+        for (StatusCount statusCount : statusCounts) {
+            total += statusCount.getTotal();
+            if ("FINALIZAT".equals(statusCount.getStatus())) {
+                finished += statusCount.getTotal();
+            } else if ("IN_LUCRU".equals(statusCount.getStatus())) {
+                inProgress += statusCount.getTotal();
+            }
+        }
         
         // Verifică dacă există cel puțin un dispozitiv
-        if (devices.isEmpty()) {
+        if (total == 0) {
             return;
         }
         
-        // Verifică dacă toate dispozitivele au statusul FINALIZAT
-        boolean allFinished = devices.stream()
-                .allMatch(device -> "FINALIZAT".equals(device.getStatus()));
-        
-        // Verifică dacă există cel puțin un dispozitiv în lucru
-        boolean anyInProgress = devices.stream()
-                .anyMatch(device -> "IN_LUCRU".equals(device.getStatus()));
-        
         // Actualizează statusul comenzii în funcție de dispozitive
-        if (allFinished) {
+        if (finished == total) {
             orderService.updateOrderStatus(orderId, "FINALIZAT");
-        } else if (anyInProgress) {
+        } else if (inProgress > 0) {
             orderService.updateOrderStatus(orderId, "IN_LUCRU");
         }
     }
@@ -133,6 +163,12 @@ public class DeviceService {
         return deviceRepo.findDeviceById(id);
     }
 
+    @Cacheable(cacheNames = "devices", key = "#id", unless = "#result == null")
+    public Optional<DeviceDTO> getDeviceDTOById(Long id) {
+        log.info("Fetching device snapshot with ID: {}", id);
+        return deviceRepo.findDeviceById(id).map(DeviceDTO::new);
+    }
+
     public List<Device> getAllDevices() {
         log.info("Fetching all devices");
         return deviceRepo.findAll();
@@ -146,9 +182,7 @@ public class DeviceService {
     // }
     public List<Device> getDevicesByOrder(Long orderId) {
         log.info("Fetching devices for order ID: {}", orderId);
-        return deviceRepo.findAll().stream()
-                .filter(device -> device.getOrder() != null && device.getOrder().getId().equals(orderId))
-                .toList();
+        return deviceRepo.findByOrderId(orderId);
     }
     
     public Optional<Device> getDeviceBySerialNumber(String serialNumber) {
@@ -161,6 +195,7 @@ public class DeviceService {
         return deviceRepo.existsBySerialNumber(serialNumber);
     }
 
+    @CacheEvict(cacheNames = "devices", key = "#id")
     public Device updateDeviceStatus(Long id, String status) {
         log.info("Updating status for device with ID: {} to {}", id, status);
         
@@ -179,16 +214,19 @@ public class DeviceService {
                     
                     // Salvează dispozitivul
                     Device savedDevice = deviceRepo.save(device);
+                    cacheEvictor.orderDetails(savedDevice.getOrderId());
+                    publicOrderViewService.refresh(savedDevice.getOrderId());
                     
                     // Adaugă log pentru comanda asociată dacă există
                     if (savedDevice.getOrder() != null) {
-                        OrderLog orderLog = new OrderLog();
-                        orderLog.setOrder(savedDevice.getOrder());
-                        orderLog.setUser(savedDevice.getOrder().getUser());
-                        orderLog.setMessage("Device #" + savedDevice.getId() + " (" + 
-                                            savedDevice.getBrand() + " " + savedDevice.getModel() + 
-                                            ") status changed to '" + status + "'");
-                        orderLogService.addOrderLog(orderLog);
+                        orderLogService.appendLog(savedDevice.getOrder(), savedDevice.getOrder().getUser(),
+                                "Device #" + savedDevice.getId() + " (" + 
+                                savedDevice.getBrand() + " " + savedDevice.getModel() + 
+                                ") status changed to '" + status + "'");
+                    }
+                    
+                    if (!status.equals(previousStatus)) {
+                        dashboardCounters.deviceStatusChanged(previousStatus, status);
                     }
                     
                     // Verifică dacă statusul s-a schimbat și actualizează comanda dacă este necesar
@@ -202,6 +240,7 @@ public class DeviceService {
                 .orElseThrow(() -> new RuntimeException("Device not found with ID: " + id));
     }
 
+    @CacheEvict(cacheNames = "devices", key = "#id")
     public Device updateDeviceAccessories(Long id, Set<String> predefinedAccessories, String customAccessories) {
         return deviceRepo.findById(id)
             .map(device -> {
@@ -222,10 +261,6 @@ public class DeviceService {
 
     // Metodă pentru a obține toate accesoriile predefinite disponibile
     public List<String> getAllPredefinedAccessories() {
-        List<String> accessories = new ArrayList<>();
-        for (PredefinedAccessory accessory : PredefinedAccessory.values()) {
-            accessories.add(accessory.getDisplayName());
-        }
-        return accessories;
+        return PREDEFINED_ACCESSORIES;
     }
-}
\ No newline at end of file
+}
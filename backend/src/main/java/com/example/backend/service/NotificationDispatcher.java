@@ -0,0 +1,116 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.example.backend.domain.NotificationOutbox;
+import com.example.backend.repo.NotificationOutboxRepo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers queued WhatsApp messages in the background. At most {@code concurrency} messages
+ * are in flight at once; a poll only claims as many messages as there are free workers, so
+ * nothing queues up in memory and unclaimed messages stay visible in the outbox table.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+    private final NotificationOutboxService outboxService;
+    private final WhatsAppNotificationService whatsAppNotificationService;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor executor;
+    private final Semaphore workers;
+    private final boolean enabled;
+
+    public NotificationDispatcher(NotificationOutboxService outboxService,
+                                  WhatsAppNotificationService whatsAppNotificationService,
+                                  NotificationOutboxRepo outboxRepo,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.notifications.outbox.concurrency:2}") int concurrency,
+                                  @Value("${app.notifications.outbox.enabled:true}") boolean enabled) {
+        this.outboxService = outboxService;
+        this.whatsAppNotificationService = whatsAppNotificationService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.workers = new Semaphore(concurrency);
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("whatsapp-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        for (String status : List.of(NotificationOutbox.PENDING, NotificationOutbox.SENDING, NotificationOutbox.DEAD)) {
+            Gauge.builder("notifications.outbox.messages", outboxRepo, repo -> repo.countByStatus(status))
+                    .description("Outbox messages by status")
+                    .tag("status", status)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.outbox.poll-interval-ms:5000}",
+               fixedDelayString = "${app.notifications.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        int free = workers.availablePermits();
+        if (!enabled || free == 0) {
+            return;
+        }
+
+        List<Long> claimed = outboxService.claimDue(free);
+        for (Long id : claimed) {
+            workers.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        deliver(id);
+                    } finally {
+                        workers.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                workers.release();
+                // Left in SENDING; released back to PENDING once stale
+                log.error("Could not schedule delivery of notification {}", id, e);
+            }
+        }
+    }
+
+    private void deliver(Long id) {
+        NotificationOutbox message = outboxService.getMessage(id).orElse(null);
+        if (message == null) {
+            return;
+        }
+
+        String result;
+        try {
+            whatsAppNotificationService.sendOrderCompletionMessage(message);
+            outboxService.markSent(id);
+            result = NotificationOutbox.SENT;
+        } catch (HttpClientErrorException e) {
+            // 4xx means the request itself is wrong (bad number, template, token); only throttling is worth retrying
+            boolean retryable = e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+            result = outboxService.markFailed(id, e.getStatusCode() + " " + e.getResponseBodyAsString(), retryable);
+        } catch (Exception e) {
+            result = outboxService.markFailed(id, e.getClass().getSimpleName() + ": " + e.getMessage(), true);
+        }
+        meterRegistry.counter("notifications.outbox.deliveries", "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
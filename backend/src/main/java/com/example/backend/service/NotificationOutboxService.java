@@ -0,0 +1,173 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.domain.Client;
+import com.example.backend.domain.NotificationOutbox;
+import com.example.backend.domain.Order;
+import com.example.backend.repo.NotificationOutboxRepo;
+import com.example.backend.util.PhoneNumbers;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional side of the WhatsApp outbox: enqueueing inside the business transaction,
+ * claiming due messages and recording delivery results. Each call is a short transaction;
+ * the HTTP call itself happens in NotificationDispatcher, outside of any transaction.
+ */
+@Slf4j
+@Service
+@Transactional(rollbackOn = Exception.class)
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+    public static final String ORDER_COMPLETION = "ORDER_COMPLETION";
+
+    private final NotificationOutboxRepo outboxRepo;
+
+    @Value("${app.notifications.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.outbox.base-delay-ms:30000}")
+    private long baseDelayMs;
+
+    @Value("${app.notifications.outbox.max-delay-ms:3600000}")
+    private long maxDelayMs;
+
+    @Value("${app.notifications.outbox.stale-after-ms:300000}")
+    private long staleAfterMs;
+
+    /**
+     * Queues the completion message in the caller's transaction: it is only delivered if the
+     * status change commits.
+     */
+    public void enqueueOrderCompletion(Order order) {
+        Client client = order.getClient();
+        // Clients not yet reached by ClientPhoneBackfill have no normalized number stored
+        String recipient = client == null ? null
+                : client.getPhoneE164() != null ? client.getPhoneE164() : PhoneNumbers.toE164(client.getPhone());
+        if (recipient == null) {
+            log.warn("Cannot queue WhatsApp notification: Client or a valid phone number is missing for order {}", order.getId());
+            return;
+        }
+
+        NotificationOutbox message = new NotificationOutbox();
+        message.setOrderId(order.getId());
+        message.setType(ORDER_COMPLETION);
+        message.setRecipient(recipient);
+        // An order with many devices must not fail the status change on a too long column
+        message.setClientName(truncate(client.getName() + " " + client.getSurname(), NotificationOutbox.CLIENT_NAME_LENGTH));
+        message.setDeviceNames(truncate(order.getDevices().stream()
+                .map(device -> device.getBrand() + " " + device.getModel())
+                .collect(Collectors.joining(", ")), NotificationOutbox.DEVICE_NAMES_LENGTH));
+        message.setNextAttemptAt(LocalDateTime.now());
+        outboxRepo.save(message);
+        log.info("Queued WhatsApp notification for completed order {}", order.getId());
+    }
+
+    /**
+     * Moves up to {@code limit} due messages from PENDING to SENDING and returns their ids.
+     */
+    public List<Long> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        int released = outboxRepo.releaseStale(now.minus(staleAfterMs, ChronoUnit.MILLIS));
+        if (released > 0) {
+            log.warn("Released {} notification(s) stuck in SENDING", released);
+        }
+
+        List<Long> claimed = new ArrayList<>();
+        for (Long id : outboxRepo.findDueIds(now, PageRequest.of(0, limit))) {
+            if (outboxRepo.claim(id, now) == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed;
+    }
+
+    public Optional<NotificationOutbox> getMessage(Long id) {
+        return outboxRepo.findById(id);
+    }
+
+    public void markSent(Long id) {
+        outboxRepo.findById(id).ifPresent(message -> {
+            message.setStatus(NotificationOutbox.SENT);
+            message.setAttempts(message.getAttempts() + 1);
+            message.setSentAt(LocalDateTime.now());
+            message.setLockedAt(null);
+            message.setLastError(null);
+        });
+    }
+
+    /**
+     * Records a failed attempt. Retryable failures are rescheduled with exponential backoff
+     * until max-attempts is reached; everything else goes straight to DEAD.
+     * @return the resulting status
+     */
+    public String markFailed(Long id, String error, boolean retryable) {
+        NotificationOutbox message = outboxRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Notification not found with ID: " + id));
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLockedAt(null);
+        message.setLastError(truncate(error, NotificationOutbox.LAST_ERROR_LENGTH));
+
+        if (!retryable || attempts >= maxAttempts) {
+            message.setStatus(NotificationOutbox.DEAD);
+            log.error("WhatsApp notification {} for order {} is dead after {} attempt(s): {}",
+                      id, message.getOrderId(), attempts, error);
+        } else {
+            long delayMs = Math.min(maxDelayMs, baseDelayMs << Math.min(attempts - 1, 30));
+            message.setStatus(NotificationOutbox.PENDING);
+            message.setNextAttemptAt(LocalDateTime.now().plus(delayMs, ChronoUnit.MILLIS));
+            log.warn("WhatsApp notification {} for order {} failed (attempt {}), retrying in {} ms: {}",
+                     id, message.getOrderId(), attempts, delayMs, error);
+        }
+        return message.getStatus();
+    }
+
+    public List<NotificationOutbox> getMessages(String status, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return status == null
+                ? outboxRepo.findAllByOrderByIdDesc(page)
+                : outboxRepo.findByStatusOrderByIdDesc(status.toUpperCase(), page);
+    }
+
+    /**
+     * Puts a DEAD (or still pending) message back in the queue for immediate delivery.
+     */
+    public NotificationOutbox retry(Long id) {
+        NotificationOutbox message = outboxRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Notification not found with ID: " + id));
+        if (NotificationOutbox.SENT.equals(message.getStatus()) || NotificationOutbox.SENDING.equals(message.getStatus())) {
+            throw new IllegalArgumentException("Notification " + id + " is " + message.getStatus() + " and cannot be retried");
+        }
+        message.setStatus(NotificationOutbox.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(LocalDateTime.now());
+        log.info("WhatsApp notification {} requeued", id);
+        return message;
+    }
+
+    // At most maxLength characters, ending with an ellipsis when cut; never splits a surrogate pair
+    static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        int end = maxLength - 1;
+        if (Character.isHighSurrogate(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(0, end) + "\u2026";
+    }
+}
@@ -18,6 +18,17 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderLogService {
     private final OrderLogRepo orderLogRepo;
+    private final OrderLogWriter orderLogWriter;
+
+    /**
+     * Audit entry for a change made in the current transaction. Entries are written together,
+     * as one multi-row insert, when the transaction commits (see OrderLogWriter), so they are
+     * not visible to queries in the same transaction.
+     */
+    public void appendLog(Order order, User user, String message) {
+        log.debug("Appending order log for order ID: {}", order.getId());
+        orderLogWriter.append(order.getId(), user != null ? user.getId() : null, message);
+    }
 
     public OrderLog addOrderLog(OrderLog orderLog) {
         log.info("Adding new order log for order ID: {}", orderLog.getOrder().getId());
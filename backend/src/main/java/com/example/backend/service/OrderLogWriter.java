@@ -0,0 +1,193 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.repo.OrderLogEntry;
+import com.example.backend.repo.OrderLogRepo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append path for order log entries. Entries are collected per transaction and inserted
+ * together as one multi-row INSERT, according to the durability mode:
+ * <ul>
+ * <li>{@code COMMIT} (default): just before the transaction commits, so the entries commit or
+ * roll back together with the change they describe.</li>
+ * <li>{@code ASYNC}: after the transaction commits, through a bounded queue drained by a
+ * background writer. Requests do not wait for the insert, but entries still queued are lost
+ * if the process dies. When the queue is full the committing thread writes the entries itself.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class OrderLogWriter {
+    public enum Durability { COMMIT, ASYNC }
+
+    private final OrderLogRepo orderLogRepo;
+    private final TransactionTemplate writeTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Durability durability;
+    private final int batchSize;
+    private final BlockingQueue<OrderLogEntry> queue;
+    private final ThreadPoolTaskExecutor executor;
+    private volatile boolean running = true;
+
+    public OrderLogWriter(OrderLogRepo orderLogRepo,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.order-log.durability:COMMIT}") Durability durability,
+                          @Value("${app.order-log.async.queue-capacity:10000}") int queueCapacity,
+                          @Value("${app.order-log.async.batch-size:500}") int batchSize) {
+        this.orderLogRepo = orderLogRepo;
+        this.meterRegistry = meterRegistry;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        // Always a transaction of its own: after commit the caller's transaction is already finished
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("order-log-writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        if (durability == Durability.ASYNC) {
+            executor.execute(this::drainLoop);
+        }
+
+        Gauge.builder("orderlog.async.queue", queue, BlockingQueue::size)
+                .description("Order log entries waiting for the background writer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds an entry to the current transaction's batch, or writes it right away when there
+     * is no transaction.
+     */
+    public void append(Long orderId, Long userId, String message) {
+        OrderLogEntry entry = new OrderLogEntry(orderId, userId, message, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (durability == Durability.ASYNC) {
+                enqueue(List.of(entry));
+            } else {
+                write(List.of(entry));
+            }
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<OrderLogEntry> pending = (List<OrderLogEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OrderLogEntry> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (durability == Durability.COMMIT && !batch.isEmpty()) {
+                        // Still inside the caller's transaction: a failed insert rolls the change back
+                        orderLogRepo.insertAll(batch);
+                        count("written", batch.size());
+                    }
+                }
+
+                @Override
+                public void afterCommit() {
+                    if (durability == Durability.ASYNC) {
+                        enqueue(batch);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrderLogWriter.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(entry);
+    }
+
+    private void enqueue(List<OrderLogEntry> entries) {
+        List<OrderLogEntry> overflow = new ArrayList<>();
+        for (OrderLogEntry entry : entries) {
+            if (!running || !queue.offer(entry)) {
+                overflow.add(entry);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            count("overflow", overflow.size());
+            writeSafely(overflow);
+        }
+    }
+
+    private void drainLoop() {
+        List<OrderLogEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            OrderLogEntry first;
+            try {
+                // Timed, so the loop notices shutdown without being interrupted mid-insert
+                first = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            writeSafely(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<OrderLogEntry> entries) {
+        writeTransaction.executeWithoutResult(status -> orderLogRepo.insertAll(entries));
+        count("written", entries.size());
+    }
+
+    private void writeSafely(List<OrderLogEntry> entries) {
+        try {
+            write(entries);
+        } catch (RuntimeException e) {
+            count("failed", entries.size());
+            log.error("Could not write {} order log entries", entries.size(), e);
+        }
+    }
+
+    private void count(String result, int entries) {
+        meterRegistry.counter("orderlog.entries", "result", result).increment(entries);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        executor.shutdown();
+        // Whatever the writer did not get to is written before the context closes
+        List<OrderLogEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeSafely(remaining);
+        }
+    }
+}
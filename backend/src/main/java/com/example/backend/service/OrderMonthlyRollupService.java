@@ -0,0 +1,84 @@
+package com.example.backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.domain.Order;
+import com.example.backend.repo.MonthlyOrderCount;
+import com.example.backend.repo.OrderMonthlyRollupRepo;
+import com.example.backend.repo.OrderRepo;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps order_monthly_rollup in step with the orders table. Every change runs inside
+ * the caller's transaction, so the rollup commits or rolls back together with the order.
+ */
+@Slf4j
+@Service
+@Transactional(rollbackOn = Exception.class)
+@RequiredArgsConstructor
+public class OrderMonthlyRollupService {
+    private final OrderMonthlyRollupRepo rollupRepo;
+    private final OrderRepo orderRepo;
+
+    public void orderCreated(Order order) {
+        adjust(order.getCreatedAt(), order.getStatus(), 1);
+    }
+
+    public void orderDeleted(Order order) {
+        adjust(order.getCreatedAt(), order.getStatus(), -1);
+    }
+
+    public void orderStatusChanged(Order order, String oldStatus, String newStatus) {
+        if (key(oldStatus).equals(key(newStatus))) {
+            return;
+        }
+        adjust(order.getCreatedAt(), oldStatus, -1);
+        adjust(order.getCreatedAt(), newStatus, 1);
+    }
+
+    public List<MonthlyOrderCount> getMonthlyCountsFrom(LocalDate fromMonth) {
+        return rollupRepo.findMonthlyCountsFrom(fromMonth.withDayOfMonth(1));
+    }
+
+    /**
+     * Recomputes the whole rollup from the orders table.
+     */
+    public int rebuild() {
+        log.info("Rebuilding monthly order rollup");
+        rollupRepo.deleteAllRows();
+        int rows = rollupRepo.insertFromOrders();
+        log.info("Monthly order rollup rebuilt with {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * One-time backfill: populates the rollup on first start after it was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepo.count() == 0 && orderRepo.count() > 0) {
+            rebuild();
+        }
+    }
+
+    private void adjust(LocalDateTime createdAt, String status, long delta) {
+        if (createdAt == null || status == null) {
+            return;
+        }
+        rollupRepo.increment(createdAt.toLocalDate().withDayOfMonth(1), key(status), delta);
+    }
+
+    private static String key(String status) {
+        return status == null ? "" : status.toUpperCase(Locale.ROOT);
+    }
+}
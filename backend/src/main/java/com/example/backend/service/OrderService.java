@@ -2,20 +2,32 @@ package com.example.backend.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.StringUtils;
 
-import com.example.backend.domain.Client;
+import com.example.backend.domain.Device;
 import com.example.backend.domain.Order;
-import com.example.backend.domain.OrderLog;
+import com.example.backend.dto.ClientListDTO;
+import com.example.backend.dto.ClientOrderDetailsDTO;
+import com.example.backend.dto.CursorPage;
 import com.example.backend.dto.OrderDetailDTO;
 import com.example.backend.dto.OrderEventMessage;
+import com.example.backend.dto.OrderListDTO;
+import com.example.backend.dto.PublicOrderDTO;
+import com.example.backend.repo.DeviceRepo;
 import com.example.backend.repo.OrderRepo;
+import com.example.backend.specification.KeysetSpecification;
 import com.example.backend.specification.OrderSpecification;
+import com.example.backend.util.KeysetCursor;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -26,24 +38,38 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(rollbackOn = Exception.class)
 @RequiredArgsConstructor
 public class OrderService {
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("id", "createdAt", "status");
+
     private final OrderRepo orderRepo;
+    private final DeviceRepo deviceRepo;
     private final OrderLogService orderLogService;
     private final UserService userService;
     private final ClientService clientService; // Adaugă această dependență
-    private final WhatsAppNotificationService whatsAppNotificationService;
+    private final NotificationOutboxService notificationOutboxService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final DashboardCounters dashboardCounters;
+    private final OrderMonthlyRollupService monthlyRollupService;
+    private final CacheEvictor cacheEvictor;
+    private final QrService qrService;
+    private final PublicOrderViewService publicOrderViewService;
+    private final SearchService searchService;
 
     public Order addOrder(Order order) {
         log.info("Adding new order for client ID: {}", order.getClient().getId());
         
         // Salvăm ID-ul clientului înainte de a salva comanda
         Long clientId = order.getClient().getId();
-        Order savedOrder = orderRepo.save(order);
+        // Comanda și dispozitivele pleacă într-un singur batch; flush-ul completează createdAt pentru rollup
+        Order savedOrder = orderRepo.saveAndFlush(order);
+
+        // Linkurile QR depind doar de id; se salvează în aceeași tranzacție, imaginile se randează după commit
+        qrService.assignLinks(savedOrder);
+        qrService.prerenderAfterCommit(savedOrder);
         
         // Obținem detalii client folosind ID-ul
         String clientInfo = "Unknown Client";
         try {
-            Client client = clientService.getClientById(clientId)
+            ClientListDTO client = clientService.getClientDTOById(clientId)
                 .orElse(null);
             
             if (client != null) {
@@ -54,13 +80,12 @@ public class OrderService {
         }
         
         // Creare log pentru adăugarea comenzii
-        OrderLog orderLog = new OrderLog();
-        orderLog.setOrder(savedOrder);
-        orderLog.setUser(order.getUser());
-        orderLog.setMessage("Order created with " + savedOrder.getDevices().size() + 
-                           " device(s) for client " + clientInfo);
-        orderLogService.addOrderLog(orderLog);
+        orderLogService.appendLog(savedOrder, order.getUser(), "Order created with " + 
+                                  savedOrder.getDevices().size() + " device(s) for client " + clientInfo);
 
+        dashboardCounters.orderCreated(savedOrder.getStatus(), deviceStatuses(savedOrder));
+        monthlyRollupService.orderCreated(savedOrder);
+        publicOrderViewService.refresh(savedOrder.getId());
         notifyOrderEvent("created", savedOrder.getId());
         
         return savedOrder;
@@ -76,18 +101,25 @@ public class OrderService {
         return orderRepo.findAll();
     }
 
+    @CacheEvict(cacheNames = "orders", key = "#id")
     public void deleteOrder(Long id) {
         log.info("Deleting order with ID: {}", id);
-        if (!orderRepo.existsById(id)) {
+        Order order = orderRepo.findOrderById(id).orElse(null);
+        if (order == null) {
             log.warn("Order with ID: {} not found", id);
             throw new RuntimeException("Order not found with ID: " + id);
         }
-        orderRepo.deleteById(id);
+        dashboardCounters.orderDeleted(order.getStatus(), deviceStatuses(order));
+        monthlyRollupService.orderDeleted(order);
+        cacheEvictor.devices(order.getDevices());
+        publicOrderViewService.remove(id);
+        orderRepo.delete(order);
         log.info("Order with ID: {} deleted successfully", id);
         notifyOrderEvent("deleted", id);
     }
 
     // Modifică metoda updateOrder pentru a adăuga un log
+    @CacheEvict(cacheNames = "orders", key = "#id")
     public Order updateOrder(Long id, Order updatedOrder) {
         log.info("Updating order with ID: {}", id);
         return orderRepo.findOrderById(id)
@@ -107,21 +139,22 @@ public class OrderService {
                     }
                     
                     Order savedOrder = orderRepo.save(order);
+                    // Apelat și după generarea QR-urilor de service pe dispozitive
+                    cacheEvictor.devices(savedOrder.getDevices());
                     
                     // Adaugă log pentru actualizarea comenzii
-                    OrderLog orderLog = new OrderLog();
-                    orderLog.setOrder(savedOrder);
-                    orderLog.setUser(updatedOrder.getUser() != null ? updatedOrder.getUser() : order.getUser());
+                    String message = statusChanged
+                            ? "Status changed from '" + oldStatus + "' to '" + updatedOrder.getStatus() + "'"
+                            : "Order details updated";
+                    orderLogService.appendLog(savedOrder,
+                            updatedOrder.getUser() != null ? updatedOrder.getUser() : order.getUser(), message);
+                    publicOrderViewService.refresh(savedOrder.getId());
                     
                     if (statusChanged) {
-                        orderLog.setMessage("Status changed from '" + oldStatus + "' to '" + 
-                                           updatedOrder.getStatus() + "'");
-                    } else {
-                        orderLog.setMessage("Order details updated");
+                        dashboardCounters.orderStatusChanged(oldStatus, savedOrder.getStatus());
+                        monthlyRollupService.orderStatusChanged(savedOrder, oldStatus, savedOrder.getStatus());
                     }
                     
-                    orderLogService.addOrderLog(orderLog);
-                    
                     log.info("Order with ID: {} updated successfully", id);
                     notifyOrderEvent("updated", savedOrder.getId());
                     return savedOrder;
@@ -133,26 +166,98 @@ public class OrderService {
         log.info("Filtering paged orders: searchTerm={}, status={}, deviceId={}, page={}, size={}", 
                  searchTerm, status, deviceId, pageable.getPageNumber(), pageable.getPageSize());
         
-        Specification<Order> spec = OrderSpecification.filterOrders(searchTerm, status, deviceId);
+        Specification<Order> spec = searchSpec(searchTerm, status, deviceId);
         return orderRepo.findAll(spec, pageable);
     }
 
+    public Page<OrderListDTO> getFilteredOrderList(String searchTerm, String status, Long deviceId, Pageable pageable) {
+        log.info("Filtering order list: searchTerm={}, status={}, deviceId={}, page={}, size={}", 
+                 searchTerm, status, deviceId, pageable.getPageNumber(), pageable.getPageSize());
+        
+        Specification<Order> spec = searchSpec(searchTerm, status, deviceId);
+        return orderRepo.findOrderList(spec, pageable);
+    }
+
+    // Not cached: read together with the cached client snapshot, so order changes need no client eviction
+    public List<OrderListDTO> getOrderListByClientId(Long clientId) {
+        log.info("Fetching order list for client ID: {}", clientId);
+        Specification<Order> spec = (root, query, cb) -> cb.equal(root.get("client").get("id"), clientId);
+        return orderRepo.findOrderList(spec, Pageable.unpaged(Sort.by("createdAt").descending())).getContent();
+    }
+
+    /**
+     * Keyset variant of {@link #getFilteredOrderList}: seeks past the cursor instead of
+     * skipping rows and does not count, so every page costs the same as the first one.
+     */
+    public CursorPage<OrderListDTO> getFilteredOrderListAfter(String searchTerm, String status, Long deviceId,
+                                                              String sortBy, boolean ascending, String after, int size) {
+        log.info("Filtering order list by cursor: searchTerm={}, status={}, deviceId={}, sortBy={}, size={}", 
+                 searchTerm, status, deviceId, sortBy, size);
+        if (!KEYSET_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor listing can be sorted by " + KEYSET_SORT_FIELDS + " only");
+        }
+        int pageSize = KeysetSpecification.pageSize(size);
+
+        Specification<Order> spec = searchSpec(searchTerm, status, deviceId);
+        if (after != null) {
+            spec = spec.and(KeysetSpecification.after(after, sortBy, ascending));
+        }
+        List<OrderListDTO> rows = orderRepo.findOrderList(spec, KeysetSpecification.sort(sortBy, ascending), pageSize + 1);
+        return CursorPage.of(rows, pageSize, last -> KeysetCursor.of(sortBy, ascending, switch (sortBy) {
+            case "createdAt" -> last.getCreatedAt();
+            case "status" -> last.getStatus();
+            default -> last.getId();
+        }, last.getId()).encode());
+    }
+
+    private Specification<Order> searchSpec(String searchTerm, String status, Long deviceId) {
+        if (!StringUtils.hasText(searchTerm) || !searchService.isFulltextEnabled()) {
+            return OrderSpecification.filterOrders(searchTerm, status, deviceId);
+        }
+        return OrderSpecification.filterOrders(searchService.searchOrders(searchTerm), status, deviceId);
+    }
+
     public Optional<OrderDetailDTO> getOrderDetailsById(Long id) {
         log.info("Fetching complete order details by ID: {}", id);
-        return orderRepo.findOrderById(id)
+        // Două interogări în total: comanda cu clientul și logurile, apoi dispozitivele cu accesoriile.
+        // Clientul intră ca snapshot, ca serializarea să nu-i încarce toate comenzile.
+        return orderRepo.findDetailById(id)
                 .map(order -> new OrderDetailDTO(
                         order.getId(),
                         order.getCreatedAt(),
                         order.getStatus(),
-                        order.getClient(),
-                        order.getDevices(),
+                        ClientService.toListDTO(order.getClient()),
+                        deviceRepo.findWithAccessoriesByOrderId(id),
                         order.getOrderLogs()
                 ));
     }
 
+    /**
+     * Detaliile comenzii pentru pagina publică a clientului (QR). Citite din public_order_view
+     * după cheia primară și ținute în cache până la următoarea modificare a comenzii,
+     * a dispozitivelor sau a clientului.
+     */
+    @Cacheable(cacheNames = "orders", key = "#id", unless = "#result == null")
+    public Optional<ClientOrderDetailsDTO> getClientOrderDetails(Long id) {
+        log.info("Fetching client order details for order ID: {}", id);
+        return publicOrderViewService.getClientOrderDetails(id);
+    }
+
+    public Optional<PublicOrderDTO> getPublicOrder(Long id) {
+        return publicOrderViewService.getPublicOrder(id);
+    }
+
+    // Fără tranzacție: reconstrucția își deschide câte una pentru fiecare pagină
+    @CacheEvict(cacheNames = "orders", allEntries = true)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public int rebuildPublicOrderView() {
+        return publicOrderViewService.rebuild();
+    }
+
     /**
      * Actualizează doar statusul comenzii
      */
+    @CacheEvict(cacheNames = "orders", key = "#id")
     public Order updateOrderStatus(Long id, String status) {
         log.info("Updating order status for order ID: {}, new status: {}", id, status);
         return orderRepo.findOrderById(id)
@@ -168,21 +273,15 @@ public class OrderService {
                         Order savedOrder = orderRepo.save(order);
                         
                         // Creare log pentru actualizarea statusului
-                        OrderLog orderLog = new OrderLog();
-                        orderLog.setOrder(savedOrder);
-                        orderLog.setUser(order.getUser());  // Utilizatorul din comandă
-                        orderLog.setMessage("Status changed from '" + oldStatus + "' to '" + status + "'");
-                        orderLogService.addOrderLog(orderLog);
+                        orderLogService.appendLog(savedOrder, order.getUser(),  // Utilizatorul din comandă
+                                "Status changed from '" + oldStatus + "' to '" + status + "'");
+                        dashboardCounters.orderStatusChanged(oldStatus, status);
+                        monthlyRollupService.orderStatusChanged(savedOrder, oldStatus, status);
+                        publicOrderViewService.refresh(savedOrder.getId());
                         
-                        // Send WhatsApp notification if order is completed
+                        // WhatsApp notification goes through the outbox, delivered after commit
                         if ("FINALIZAT".equalsIgnoreCase(status)) {
-                            try {
-                                log.info("Sending WhatsApp notification for completed order {}", id);
-                                whatsAppNotificationService.sendOrderCompletionNotification(savedOrder);
-                            } catch (Exception e) {
-                                // Log error but don't fail the status update
-                                log.error("Failed to send WhatsApp notification for order {}: {}", id, e.getMessage(), e);
-                            }
+                            notificationOutboxService.enqueueOrderCompletion(savedOrder);
                         }
                         
                         notifyOrderEvent("status-updated", savedOrder.getId());
@@ -197,6 +296,7 @@ public class OrderService {
     /**
      * Marchează comanda ca fiind predată și actualizează toate dispozitivele
      */
+    @CacheEvict(cacheNames = "orders", key = "#id")
     public Order markOrderAsDelivered(Long id) {
         log.info("Marking order as delivered for order ID: {}", id);
         return orderRepo.findOrderById(id)
@@ -210,22 +310,23 @@ public class OrderService {
                     //String oldStatus = order.getStatus();
                     
                     // Actualizează statusul comenzii
+                    dashboardCounters.orderStatusChanged(order.getStatus(), "PREDAT");
+                    monthlyRollupService.orderStatusChanged(order, order.getStatus(), "PREDAT");
                     order.setStatus("PREDAT");
                     
                     // Actualizează statusul tuturor dispozitivelor
                     order.getDevices().forEach(device -> {
+                        dashboardCounters.deviceStatusChanged(device.getStatus(), "PREDAT");
                         device.setStatus("PREDAT");
                     });
+                    cacheEvictor.devices(order.getDevices());
                     
                     Order savedOrder = orderRepo.save(order);
                     
                     // Creare log pentru predarea comenzii
-                    OrderLog orderLog = new OrderLog();
-                    orderLog.setOrder(savedOrder);
-                    orderLog.setUser(order.getUser());
-                    orderLog.setMessage("Order marked as delivered to client with " + 
-                                       order.getDevices().size() + " device(s)");
-                    orderLogService.addOrderLog(orderLog);
+                    orderLogService.appendLog(savedOrder, order.getUser(), "Order marked as delivered to client with " + 
+                                              order.getDevices().size() + " device(s)");
+                    publicOrderViewService.refresh(savedOrder.getId());
                     
                     log.info("Order marked as delivered for order ID: {}", id);
                     notifyOrderEvent("delivered", savedOrder.getId());
@@ -248,6 +349,12 @@ public class OrderService {
         return orderRepo.countByStatusNotIn(List.of("ANULAT", "PREDAT"));
     }
 
+    static List<String> deviceStatuses(Order order) {
+        return order.getDevices() != null
+                ? order.getDevices().stream().map(Device::getStatus).toList()
+                : List.of();
+    }
+
     private void notifyOrderEvent(String type, Long orderId) {
         messagingTemplate.convertAndSend("/topic/orders", new OrderEventMessage(type, orderId));
     }
@@ -0,0 +1,221 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.domain.Client;
+import com.example.backend.domain.Device;
+import com.example.backend.domain.Order;
+import com.example.backend.domain.PublicOrderView;
+import com.example.backend.dto.ClientOrderDetailsDTO;
+import com.example.backend.dto.PublicOrderDTO;
+import com.example.backend.repo.ClientRepo;
+import com.example.backend.repo.DeviceRepo;
+import com.example.backend.repo.OrderRepo;
+import com.example.backend.repo.PublicOrderViewRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps public_order_view in step with orders, devices and clients. Writes run inside the
+ * caller's transaction, so the view commits or rolls back together with the change; the
+ * public order page then reads one row by primary key and never loads the entity graph.
+ */
+@Slf4j
+@Service
+@Transactional(rollbackOn = Exception.class)
+public class PublicOrderViewService {
+    private static final TypeReference<List<ClientOrderDetailsDTO.DeviceDetailsDTO>> DEVICE_LIST =
+            new TypeReference<>() {};
+    private static final int REBUILD_PAGE_SIZE = 200;
+
+    private final PublicOrderViewRepo viewRepo;
+    private final OrderRepo orderRepo;
+    private final DeviceRepo deviceRepo;
+    private final ClientRepo clientRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PublicOrderViewService(PublicOrderViewRepo viewRepo,
+                                  OrderRepo orderRepo,
+                                  DeviceRepo deviceRepo,
+                                  ClientRepo clientRepo,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.viewRepo = viewRepo;
+        this.orderRepo = orderRepo;
+        this.deviceRepo = deviceRepo;
+        this.clientRepo = clientRepo;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public Optional<ClientOrderDetailsDTO> getClientOrderDetails(Long orderId) {
+        return findOrCompute(orderId).map(this::toDetailsDTO);
+    }
+
+    public Optional<PublicOrderDTO> getPublicOrder(Long orderId) {
+        return findOrCompute(orderId).map(view -> new PublicOrderDTO(
+                view.getOrderId(),
+                view.getClientName(),
+                view.getCreatedAt(),
+                view.getStatus(),
+                view.getDeviceCount()));
+    }
+
+    /**
+     * Rewrites the row of an order from its current state, or removes it if the order is gone.
+     * Devices are queried rather than taken from the order's collection, so pending device
+     * inserts and deletes of the same transaction are flushed and included.
+     */
+    public void refresh(Long orderId) {
+        if (orderId == null) {
+            return;
+        }
+        orderRepo.findById(orderId)
+                .ifPresentOrElse(order -> viewRepo.save(toView(order, deviceRepo.findByOrderId(orderId))),
+                        () -> remove(orderId));
+    }
+
+    public void remove(Long orderId) {
+        viewRepo.deleteById(orderId);
+    }
+
+    public void clientUpdated(Client client) {
+        viewRepo.updateClient(client.getId(), clientName(client), client.getPhone(), client.getEmail());
+    }
+
+    public void clientDeleted(Long clientId) {
+        viewRepo.deleteByClientId(clientId);
+    }
+
+    /**
+     * Recomputes the whole view from the orders table, one transaction per page of orders, so
+     * neither locks nor the persistence context grow with the table. Runs outside the caller's
+     * transaction; rows not rebuilt yet are computed on read meanwhile.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public int rebuild() {
+        log.info("Rebuilding public order view");
+        transaction.executeWithoutResult(status -> viewRepo.deleteAllInBatch());
+        int rows = 0;
+        List<Long> ids = orderRepo.findIdsAfter(0L, Pageable.ofSize(REBUILD_PAGE_SIZE));
+        while (!ids.isEmpty()) {
+            List<Long> page = ids;
+            transaction.executeWithoutResult(status -> {
+                page.forEach(this::refresh);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            rows += page.size();
+            ids = orderRepo.findIdsAfter(page.get(page.size() - 1), Pageable.ofSize(REBUILD_PAGE_SIZE));
+        }
+        log.info("Public order view rebuilt with {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * One-time backfill: populates the view on first start after it was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (viewRepo.count() == 0 && orderRepo.count() > 0) {
+            rebuild();
+        }
+    }
+
+    // A row missing for an existing order (read while a rebuild runs) is computed, but not
+    // written: the public page stays read-only, and the rebuild writes the row itself
+    private Optional<PublicOrderView> findOrCompute(Long orderId) {
+        return viewRepo.findById(orderId)
+                .or(() -> orderRepo.findById(orderId)
+                        .map(order -> toView(order, deviceRepo.findByOrderId(orderId))));
+    }
+
+    private PublicOrderView toView(Order order, List<Device> devices) {
+        List<ClientOrderDetailsDTO.DeviceDetailsDTO> deviceDTOs = devices.stream()
+                .sorted(Comparator.comparing(Device::getId))
+                .map(device -> new ClientOrderDetailsDTO.DeviceDetailsDTO(
+                        device.getId(),
+                        "Device", // Default type since deviceType doesn't exist
+                        device.getBrand(),
+                        device.getModel(),
+                        device.getSerialNumber(),
+                        device.getNote(), // Using note as issue description
+                        device.getStatus(),
+                        device.getToDo() // Using toDo as technician notes
+                ))
+                .toList();
+
+        // The order may still reference the id-only client it was posted with
+        Client client = order.getClient() != null
+                ? clientRepo.findById(order.getClient().getId()).orElse(order.getClient())
+                : null;
+        PublicOrderView view = new PublicOrderView();
+        view.setOrderId(order.getId());
+        view.setClientName(client != null ? clientName(client) : "Client Name");
+        view.setClientPhone(client != null ? client.getPhone() : "");
+        view.setClientEmail(client != null ? client.getEmail() : "");
+        view.setCreatedAt(order.getCreatedAt());
+        view.setStatus(order.getStatus());
+        view.setNotes(""); // No notes field in Order
+        view.setDeviceCount(deviceDTOs.size());
+        view.setDevicesJson(writeDevices(deviceDTOs));
+        view.setUpdatedAt(LocalDateTime.now());
+        return view;
+    }
+
+    private ClientOrderDetailsDTO toDetailsDTO(PublicOrderView view) {
+        return new ClientOrderDetailsDTO(
+                view.getOrderId(),
+                view.getClientName(),
+                view.getClientPhone(),
+                view.getClientEmail(),
+                view.getCreatedAt(),
+                view.getStatus(),
+                view.getNotes(),
+                readDevices(view.getDevicesJson()));
+    }
+
+    private String writeDevices(List<ClientOrderDetailsDTO.DeviceDetailsDTO> devices) {
+        try {
+            return objectMapper.writeValueAsString(devices);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize devices for the public order view", e);
+        }
+    }
+
+    private List<ClientOrderDetailsDTO.DeviceDetailsDTO> readDevices(String json) {
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, DEVICE_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read devices from the public order view", e);
+        }
+    }
+
+    private static String clientName(Client client) {
+        return client.getName() + " " + client.getSurname();
+    }
+}
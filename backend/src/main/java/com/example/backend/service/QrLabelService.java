@@ -0,0 +1,145 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.repo.DeviceLabelRef;
+import com.example.backend.repo.DeviceRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * QR label sheets for printing: every client and service QR of an order, a set of devices or
+ * an intake date range, as one ZIP. PNGs are rendered on the QR render pool and written to the
+ * response in order as they complete; at most {@code 2 x render-threads} images are held in
+ * memory at any time, however many labels the batch has.
+ */
+@Slf4j
+@Service
+public class QrLabelService {
+    private final QrService qrService;
+    private final DeviceRepo deviceRepo;
+    private final int window;
+    private final int maxLabels;
+
+    public QrLabelService(QrService qrService,
+                          DeviceRepo deviceRepo,
+                          @Value("${app.qr.render-threads:4}") int renderThreads,
+                          @Value("${app.qr.batch-max-devices:1000}") int maxLabels) {
+        this.qrService = qrService;
+        this.deviceRepo = deviceRepo;
+        this.window = renderThreads * 2;
+        this.maxLabels = maxLabels;
+    }
+
+    public record QrLabel(String fileName, String link) {}
+
+    /**
+     * Labels for exactly one selector: an order, a list of devices or an intake date range.
+     * For every order involved the client QR comes first, followed by its devices' service QRs.
+     */
+    public List<QrLabel> resolveLabels(Long orderId, List<Long> deviceIds, LocalDate from, LocalDate to) {
+        boolean byOrder = orderId != null;
+        boolean byDevices = deviceIds != null && !deviceIds.isEmpty();
+        boolean byDate = from != null || to != null;
+        if (Stream.of(byOrder, byDevices, byDate).filter(Boolean::booleanValue).count() != 1) {
+            throw new IllegalArgumentException("Specify exactly one of orderId, deviceIds or from/to");
+        }
+
+        // One row over the limit tells us the batch is too large without counting first
+        Pageable limit = Pageable.ofSize(maxLabels + 1);
+        List<DeviceLabelRef> devices;
+        if (byOrder) {
+            devices = deviceRepo.findLabelRefsByOrderId(orderId, limit);
+        } else if (byDevices) {
+            devices = deviceRepo.findLabelRefsByIds(deviceIds, limit);
+        } else {
+            if (from == null || to == null || from.isAfter(to)) {
+                throw new IllegalArgumentException("Date range needs both from and to, with from <= to");
+            }
+            devices = deviceRepo.findLabelRefsByReceivedDate(from, to, limit);
+        }
+        if (devices.size() > maxLabels) {
+            throw new IllegalArgumentException("Too many devices for one label batch (max " + maxLabels + ")");
+        }
+
+        List<QrLabel> labels = new ArrayList<>();
+        if (byOrder) {
+            labels.add(clientLabel(orderId));
+        }
+        Long currentOrder = orderId;
+        for (DeviceLabelRef device : devices) {
+            if (device.getOrderId() != null && !Objects.equals(device.getOrderId(), currentOrder)) {
+                currentOrder = device.getOrderId();
+                labels.add(clientLabel(currentOrder));
+            }
+            labels.add(new QrLabel("service-device-" + device.getDeviceId() + ".png",
+                    qrService.serviceDeviceLink(device.getDeviceId())));
+        }
+        return labels;
+    }
+
+    /**
+     * Writes the labels as a ZIP of PNGs. Entries are STORED, since PNG data does not compress further.
+     */
+    public void writeZip(List<QrLabel> labels, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Deque<Rendering> pending = new ArrayDeque<>();
+        try {
+            for (QrLabel label : labels) {
+                if (pending.size() >= window) {
+                    writeEntry(zip, pending.removeFirst());
+                }
+                pending.addLast(new Rendering(label, qrService.renderUncached(label.link())));
+            }
+            while (!pending.isEmpty()) {
+                writeEntry(zip, pending.removeFirst());
+            }
+            zip.finish();
+        } finally {
+            // Client went away or a render failed: drop what is still queued
+            pending.forEach(rendering -> rendering.png().cancel(false));
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zip, Rendering rendering) throws IOException {
+        byte[] png;
+        try {
+            png = rendering.png().join();
+        } catch (CompletionException e) {
+            throw new IOException("Could not render " + rendering.label().fileName(), e.getCause());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(png);
+        ZipEntry entry = new ZipEntry(rendering.label().fileName());
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(png.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(png);
+        zip.closeEntry();
+    }
+
+    private QrLabel clientLabel(Long orderId) {
+        return new QrLabel("client-order-" + orderId + ".png", qrService.clientOrderLink(orderId));
+    }
+
+    private record Rendering(QrLabel label, CompletableFuture<byte[]> png) {}
+}
@@ -1,20 +1,44 @@
 package com.example.backend.service;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import com.example.backend.domain.Device;
 import com.example.backend.domain.Order;
 import com.example.backend.util.QrGenerator;
+import com.example.backend.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * QR codes for orders and devices. The encoded link depends only on the frontend URL and the
+ * id, so PNGs are rendered in memory on first request and kept in a cache bounded by total
+ * bytes (app.qr.cache-max-bytes). Writing them under app.qr.base-path is optional
+ * (app.qr.persist-to-disk), for anyone printing labels straight from that folder.
+ * <p>
+ * New orders and devices only get their links assigned inside the transaction; rendering (and
+ * any file writing) happens on the render pool after commit, or lazily on the first fetch.
+ */
 @Service
 @Slf4j
 public class QrService {
@@ -24,27 +48,193 @@ public class QrService {
     
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
+
+    @Value("${app.qr.persist-to-disk:false}")
+    private boolean persistToDisk;
+
+    @Value("${app.qr.prerender:true}")
+    private boolean prerender;
+
+    // Cheia este textul codificat (linkul), valoarea este PNG-ul randat
+    private final Cache<String, byte[]> images;
+    private final ThreadPoolTaskExecutor renderExecutor;
+
+    public QrService(@Value("${app.qr.cache-max-bytes:16777216}") long cacheMaxBytes,
+                     @Value("${app.qr.render-threads:4}") int renderThreads,
+                     @Value("${app.qr.render-queue-capacity:200}") int renderQueueCapacity,
+                     MeterRegistry meterRegistry) {
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String link, byte[] png) -> png.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, images, "qrImages");
+
+        this.renderExecutor = new ThreadPoolTaskExecutor();
+        renderExecutor.setCorePoolSize(renderThreads);
+        renderExecutor.setMaxPoolSize(renderThreads);
+        // Bounded: when the queue is full, renders run on the calling thread (back-pressure);
+        // pre-renders that only warm the cache are skipped instead (see prerenderAfterCommit)
+        renderExecutor.setQueueCapacity(renderQueueCapacity);
+        renderExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        renderExecutor.setThreadNamePrefix("qr-render-");
+        renderExecutor.initialize();
+    }
+
+    public String clientOrderLink(Long orderId) {
+        return frontendUrl + "/client-order/" + orderId;
+    }
+
+    public String serviceDeviceLink(Long deviceId) {
+        return frontendUrl + "/service-device/" + deviceId;
+    }
+
+    /**
+     * PNG of the client QR for an order; rendered once, then served from memory
+     */
+    public byte[] getClientOrderPng(Long orderId) {
+        return getPng(clientOrderLink(orderId));
+    }
+
+    /**
+     * PNG of the service QR for a device; rendered once, then served from memory
+     */
+    public byte[] getServiceDevicePng(Long deviceId) {
+        return getPng(serviceDeviceLink(deviceId));
+    }
+
+    /**
+     * PNG for bulk output: taken from the cache when already there, otherwise rendered on the
+     * render pool without being cached, so a large label run does not push hot images out
+     */
+    public CompletableFuture<byte[]> renderUncached(String link) {
+        byte[] cached = images.getIfPresent(link);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> render(link), renderExecutor);
+    }
+
+    /**
+     * Sets the QR links (and file paths, when persisting) of a just-saved order and its devices.
+     * Nothing is rendered or written here; see {@link #prerenderAfterCommit(Order)}.
+     */
+    public void assignLinks(Order order) {
+        order.setClientQrLink(clientOrderLink(order.getId()));
+        if (persistToDisk) {
+            order.setClientQrPath(qrPath("client-orders", "client-order-" + order.getId() + ".png"));
+        }
+        if (order.getDevices() != null) {
+            order.getDevices().forEach(this::assignLink);
+        }
+    }
+
+    public void assignLink(Device device) {
+        device.setServiceQrLink(serviceDeviceLink(device.getId()));
+        if (persistToDisk) {
+            device.setServiceQrPath(qrPath("service-devices", "service-device-" + device.getId() + ".png"));
+        }
+    }
+
+    /**
+     * Once the transaction commits, renders the order's QR images on the render pool so the first
+     * scan is served from memory, and writes the files when persisting to disk.
+     */
+    public void prerenderAfterCommit(Order order) {
+        List<QrTarget> targets = new ArrayList<>();
+        targets.add(new QrTarget(order.getClientQrLink(), order.getClientQrPath()));
+        if (order.getDevices() != null) {
+            order.getDevices().forEach(device ->
+                    targets.add(new QrTarget(device.getServiceQrLink(), device.getServiceQrPath())));
+        }
+        prerenderAfterCommit(targets);
+    }
+
+    public void prerenderAfterCommit(Device device) {
+        prerenderAfterCommit(List.of(new QrTarget(device.getServiceQrLink(), device.getServiceQrPath())));
+    }
+
+    // Captured inside the transaction, rendered after it; path is null unless persisting to disk
+    private record QrTarget(String link, String path) {}
+
+    private void prerenderAfterCommit(List<QrTarget> targets) {
+        if (!prerender && !persistToDisk) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            if (!persistToDisk && renderExecutor.getQueueSize() >= renderExecutor.getQueueCapacity()) {
+                // Not worth blocking the committing thread for: rendered on first fetch instead.
+                // Files are only written here, so when persisting the task runs on this thread instead
+                log.warn("QR render queue full, not pre-rendering {} image(s)", targets.size());
+                return;
+            }
+            renderExecutor.execute(() -> {
+                for (QrTarget target : targets) {
+                    try {
+                        byte[] png = getPng(target.link());
+                        if (persistToDisk && target.path() != null) {
+                            writeFile(target.path(), png);
+                        }
+                    } catch (Exception e) {
+                        // Not fatal: the image is rendered again on first fetch
+                        log.error("Error pre-rendering QR {}", target.link(), e);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Strong ETag of the client QR image, computed from the encoded link alone (no lookup, no rendering)
+     */
+    public String clientOrderEtag(Long orderId) {
+        return etag(clientOrderLink(orderId));
+    }
+
+    /**
+     * Strong ETag of the service QR image, computed from the encoded link alone (no lookup, no rendering)
+     */
+    public String serviceDeviceEtag(Long deviceId) {
+        return etag(serviceDeviceLink(deviceId));
+    }
+
+    private static String etag(String link) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((QrGenerator.RENDER_VERSION + "|" + link).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private byte[] getPng(String link) {
+        return images.get(link, QrService::render);
+    }
+
+    private static byte[] render(String link) {
+        try {
+            return QrGenerator.renderPng(link);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not render QR code for " + link, e);
+        }
+    }
     
     /**
      * Generate QR code for client order details
      */
     public void generateClientOrderQR(Order order) {
         try {
-            // Create QR link
-            String qrLink = frontendUrl + "/client-order/" + order.getId();
-            
-            // Create file path
-            String fileName = "client-order-" + order.getId() + ".png";
-            String qrPath = createQrPath("client-orders", fileName);
-            
-            // Generate QR code
-            QrGenerator.generateQrCode(qrLink, qrPath);
-            
-            // Update order with QR info
+            String qrLink = clientOrderLink(order.getId());
             order.setClientQrLink(qrLink);
-            order.setClientQrPath(qrPath);
+
+            if (persistToDisk) {
+                String qrPath = qrPath("client-orders", "client-order-" + order.getId() + ".png");
+                writeFile(qrPath, getPng(qrLink));
+                order.setClientQrPath(qrPath);
+            }
             
-            log.info("Generated client QR for order {}: {}", order.getId(), qrPath);
+            log.info("Generated client QR for order {}: {}", order.getId(), qrLink);
             
         } catch (Exception e) {
             log.error("Error generating client QR for order {}", order.getId(), e);
@@ -56,21 +246,16 @@ public class QrService {
      */
     public void generateServiceDeviceQR(Device device) {
         try {
-            // Create QR link
-            String qrLink = frontendUrl + "/service-device/" + device.getId();
-            
-            // Create file path
-            String fileName = "service-device-" + device.getId() + ".png";
-            String qrPath = createQrPath("service-devices", fileName);
-            
-            // Generate QR code
-            QrGenerator.generateQrCode(qrLink, qrPath);
-            
-            // Update device with QR info
+            String qrLink = serviceDeviceLink(device.getId());
             device.setServiceQrLink(qrLink);
-            device.setServiceQrPath(qrPath);
+
+            if (persistToDisk) {
+                String qrPath = qrPath("service-devices", "service-device-" + device.getId() + ".png");
+                writeFile(qrPath, getPng(qrLink));
+                device.setServiceQrPath(qrPath);
+            }
             
-            log.info("Generated service QR for device {}: {}", device.getId(), qrPath);
+            log.info("Generated service QR for device {}: {}", device.getId(), qrLink);
             
         } catch (Exception e) {
             log.error("Error generating service QR for device {}", device.getId(), e);
@@ -92,6 +277,10 @@ public class QrService {
      * Regenerate QR code if file doesn't exist
      */
     public void regenerateQRIfMissing(Order order) {
+        if (!persistToDisk) {
+            return;
+        }
+
         // Check client QR
         if (order.getClientQrPath() != null) {
             if (!Files.exists(Path.of(order.getClientQrPath()))) {
@@ -114,45 +303,28 @@ public class QrService {
     }
     
     /**
-     * Create QR file path with proper directory structure
+     * QR file path with a month-based subdirectory; computing it touches no files
      */
-    private String createQrPath(String category, String fileName) {
-        try {
-            // Create date-based subdirectory
-            String dateFolder = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
-            Path categoryPath = Path.of(qrBasePath, category, dateFolder);
-            
-            // Create directories if they don't exist
-            Files.createDirectories(categoryPath);
-            
-            return categoryPath.resolve(fileName).toString();
-            
-        } catch (Exception e) {
-            log.error("Error creating QR path for {}/{}", category, fileName, e);
-            // Fallback to simple path
-            return Path.of(qrBasePath, fileName).toString();
-        }
+    private String qrPath(String category, String fileName) {
+        String dateFolder = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
+        return Path.of(qrBasePath, category, dateFolder, fileName).toString();
     }
-    
-    /**
-     * Get QR file as byte array for serving
-     */
-    public byte[] getQRFile(String qrPath) {
-        try {
-            Path path = Path.of(qrPath);
-            if (Files.exists(path)) {
-                return Files.readAllBytes(path);
-            }
-        } catch (Exception e) {
-            log.error("Error reading QR file: {}", qrPath, e);
-        }
-        return null;
+
+    private static void writeFile(String qrPath, byte[] png) throws IOException {
+        Path path = Path.of(qrPath);
+        Files.createDirectories(path.getParent());
+        Files.write(path, png);
     }
     
     /**
      * Delete QR files for an order
      */
     public void deleteOrderQRs(Order order) {
+        images.invalidate(clientOrderLink(order.getId()));
+        if (order.getDevices() != null) {
+            order.getDevices().forEach(device -> images.invalidate(serviceDeviceLink(device.getId())));
+        }
+
         try {
             // Delete client QR
             if (order.getClientQrPath() != null) {
@@ -173,6 +345,11 @@ public class QrService {
         }
     }
     
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdown();
+    }
+
     private void deleteQRFile(String qrPath) {
         try {
             Path path = Path.of(qrPath);
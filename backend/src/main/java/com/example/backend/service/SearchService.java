@@ -0,0 +1,99 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.repo.ClientRepo;
+import com.example.backend.repo.OrderRepo;
+import com.example.backend.specification.OrderSpecification;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Search terms from the client and order lists, resolved to id lists through the ngram
+ * FULLTEXT index on client (V008__Add_client_fulltext_search.sql) instead of '%term%' LIKE
+ * scans. The specifications then only filter by id, so search cost follows the number of
+ * matches, not the size of the tables.
+ * <p>
+ * Every word of the term must match (in any of name, surname, email, phone, cui); results are
+ * ranked by relevance and capped at app.search.max-results. With app.search.fulltext=false
+ * (databases without the index, e.g. H2) callers fall back to the LIKE specifications.
+ */
+@Slf4j
+@Service
+public class SearchService {
+    // MySQL default ngram_token_size; shorter words are searched as prefixes
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    private final ClientRepo clientRepo;
+    private final OrderRepo orderRepo;
+    private final boolean fulltext;
+    private final int maxResults;
+
+    public SearchService(ClientRepo clientRepo,
+                         OrderRepo orderRepo,
+                         @Value("${app.search.fulltext:true}") boolean fulltext,
+                         @Value("${app.search.max-results:1000}") int maxResults) {
+        this.clientRepo = clientRepo;
+        this.orderRepo = orderRepo;
+        this.fulltext = fulltext;
+        this.maxResults = maxResults;
+    }
+
+    public boolean isFulltextEnabled() {
+        return fulltext;
+    }
+
+    /**
+     * Ids of the clients matching every word of the term, most relevant first.
+     */
+    public List<Long> searchClientIds(String term) {
+        String query = booleanQuery(term);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = clientRepo.searchIds(query, maxResults);
+        if (ids.size() == maxResults) {
+            log.debug("Client search for '{}' reached the limit of {} results", term, maxResults);
+        }
+        return ids;
+    }
+
+    /**
+     * What an order search term can match: the order id (whole number only), the orders of the
+     * matching clients, and the statuses containing the term.
+     */
+    public OrderSpecification.SearchMatches searchOrders(String term) {
+        String trimmed = term.trim();
+        Long orderId = trimmed.chars().allMatch(Character::isDigit) && trimmed.length() <= 18
+                ? Long.valueOf(trimmed)
+                : null;
+        String lowerTerm = trimmed.toLowerCase(Locale.ROOT);
+        List<String> statuses = orderRepo.findDistinctStatuses().stream()
+                .filter(status -> status.toLowerCase(Locale.ROOT).contains(lowerTerm))
+                .toList();
+        return new OrderSpecification.SearchMatches(orderId, searchClientIds(trimmed), statuses);
+    }
+
+    /**
+     * One required clause per word: a phrase for ngram-sized words (the ngram parser matches a
+     * phrase as consecutive ngrams, i.e. a substring), a prefix for shorter ones. Quotes are
+     * dropped, as are one-character words that are not a letter or digit (boolean mode operators).
+     */
+    private static String booleanQuery(String term) {
+        List<String> clauses = new ArrayList<>();
+        for (String word : term.trim().split("\\s+")) {
+            String cleaned = word.replace("\"", "");
+            if (cleaned.length() >= NGRAM_TOKEN_SIZE) {
+                clauses.add("+\"" + cleaned + "\"");
+            } else if (!cleaned.isEmpty() && Character.isLetterOrDigit(cleaned.charAt(0))) {
+                clauses.add("+" + cleaned + "*");
+            }
+        }
+        return String.join(" ", clauses);
+    }
+}
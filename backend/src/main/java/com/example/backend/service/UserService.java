@@ -3,11 +3,14 @@ package com.example.backend.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.example.backend.domain.User;
 import com.example.backend.dto.RegisterResponse;
+import com.example.backend.dto.UserListDTO;
 import com.example.backend.repo.UserRepo;
 
 import jakarta.transaction.Transactional;
@@ -21,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 public class UserService {
     private final UserRepo userRepo;
     private final PasswordEncoder passwordEncoder;
+    private final DashboardCounters dashboardCounters;
 
     public User registerUser(User user) {
         if(userExistsByEmail(user.getEmail())) {
@@ -29,7 +33,9 @@ public class UserService {
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         log.info("Adding user: {}", user);
-        return userRepo.save(user);
+        User savedUser = userRepo.save(user);
+        dashboardCounters.userAdded();
+        return savedUser;
     }
 
     public RegisterResponse mapToResponse(User user) {
@@ -53,11 +59,17 @@ public class UserService {
         throw new RuntimeException("Invalid username or password");
     }
 
+    // Users are cached under both id and username; writes are rare, so drop the whole cache
+    @CacheEvict(cacheNames = "users", allEntries = true)
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
-        userRepo.deleteById(id);
+        userRepo.findUserById(id).ifPresent(user -> {
+            userRepo.delete(user);
+            dashboardCounters.userDeleted();
+        });
     }
 
+    @CacheEvict(cacheNames = "users", allEntries = true)
     public User updateUser(Long id, User updatedUser) {
         log.info("Updating user with ID: {}", id);
         return userRepo.findUserById(id)
@@ -77,6 +89,12 @@ public class UserService {
         return userRepo.findById(id);
     }
 
+    @Cacheable(cacheNames = "users", key = "'id:' + #id", unless = "#result == null")
+    public Optional<UserListDTO> getUserDTOById(Long id) {
+        log.info("Fetching user snapshot by ID: {}", id);
+        return userRepo.findById(id).map(UserService::toListDTO);
+    }
+
     public List<User> getAllUsers() {
         log.info("Fetching all users");
         return userRepo.findAll();
@@ -87,6 +105,12 @@ public class UserService {
         return userRepo.findUserByUsername(username);
     }
 
+    @Cacheable(cacheNames = "users", key = "'username:' + #username", unless = "#result == null")
+    public Optional<UserListDTO> getUserDTOByUsername(String username) {
+        log.info("Fetching user snapshot by username: {}", username);
+        return userRepo.findUserByUsername(username).map(UserService::toListDTO);
+    }
+
     public Optional<User> getUserByEmail(String email) {
         log.info("Fetching user by email: {}", email);
         return userRepo.findUserByEmail(email);
@@ -106,4 +130,14 @@ public class UserService {
         log.info("Checking if user exists by username: {}", username);
         return userRepo.existsByUsername(username);
     }
-}
\ No newline at end of file
+
+    public static UserListDTO toListDTO(User user) {
+        return new UserListDTO(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getRole(),
+                user.getCreatedAt());
+    }
+}
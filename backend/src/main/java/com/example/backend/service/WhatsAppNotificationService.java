@@ -3,7 +3,6 @@ package com.example.backend.service;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -15,8 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import com.example.backend.domain.Client;
-import com.example.backend.domain.Order;
+import com.example.backend.domain.NotificationOutbox;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,46 +41,22 @@ public class WhatsAppNotificationService {
     }
 
     /**
-     * Send order completion notification to client
-     * @param order The completed order
+     * Send an order completion message queued in the notification outbox.
+     * Failures are thrown, not logged and swallowed, so the dispatcher can retry them.
+     * @param message The outbox entry with the template parameters
      */
-    public void sendOrderCompletionNotification(Order order) {
-        try {
-            Client client = order.getClient();
-            
-            // Validate client phone number
-            if (client == null || client.getPhone() == null || client.getPhone().isEmpty()) {
-                log.warn("Cannot send WhatsApp notification: Client or phone number is missing for order {}", order.getId());
-                return;
-            }
-
-        log.debug("Preparing WhatsApp notification for order {} and client {} {}", order.getId(),
-            client.getName(), client.getSurname());
-
-            String clientPhone = formatPhoneNumber(client.getPhone());
-
-        log.debug("Client phone before formatting: {} | after formatting: {}", client.getPhone(), clientPhone);
-            
-            // Build device names string (brand + model)
-            String deviceNames = order.getDevices().stream()
-                    .map(device -> device.getBrand() + " " + device.getModel())
-                    .collect(Collectors.joining(", "));
-
-        log.debug("Device list for WhatsApp template: {}", deviceNames);
-
-            // Send the message
-            sendTemplateMessage(
-                    clientPhone,
-                    client.getName() + " " + client.getSurname(),
-                    order.getId().toString(),
-                    deviceNames
-            );
-
-            log.info("WhatsApp notification sent successfully for order {} to {}", order.getId(), clientPhone);
+    public void sendOrderCompletionMessage(NotificationOutbox message) {
+        log.debug("Sending WhatsApp notification {} for order {} to {}", message.getId(), message.getOrderId(),
+            message.getRecipient());
+
+        sendTemplateMessage(
+                message.getRecipient(),
+                message.getClientName(),
+                message.getOrderId().toString(),
+                message.getDeviceNames() != null ? message.getDeviceNames() : ""
+        );
 
-        } catch (Exception e) {
-            log.error("Failed to send WhatsApp notification for order {}: {}", order.getId(), e.getMessage(), e);
-        }
+        log.info("WhatsApp notification sent successfully for order {} to {}", message.getOrderId(), message.getRecipient());
     }
 
     /**
@@ -137,6 +111,7 @@ public class WhatsAppNotificationService {
                 log.info("WhatsApp API response: {}", response.getBody());
             } else {
                 log.error("WhatsApp API returned non-success status: {}", response.getStatusCode());
+                throw new RuntimeException("WhatsApp API returned status " + response.getStatusCode());
             }
 
         } catch (HttpClientErrorException e) {
@@ -145,31 +120,6 @@ public class WhatsAppNotificationService {
         }
     }
 
-    /**
-     * Format phone number to E.164 format (e.g., +40712345678)
-     * Assumes Romanian numbers if no country code is present
-     */
-    private String formatPhoneNumber(String phone) {
-        // Remove spaces, dashes, and parentheses
-        String cleaned = phone.replaceAll("[\\s\\-()]", "");
-        
-        // If it doesn't start with +, assume it's a Romanian number
-        if (!cleaned.startsWith("+")) {
-            // If it starts with 0, replace with +40
-            if (cleaned.startsWith("0")) {
-                cleaned = "+40" + cleaned.substring(1);
-            } else if (!cleaned.startsWith("40")) {
-                // If it doesn't start with country code, add +40
-                cleaned = "+40" + cleaned;
-            } else {
-                // Already has 40, just add +
-                cleaned = "+" + cleaned;
-            }
-        }
-        
-        return cleaned;
-    }
-
     /**
      * Test method to verify WhatsApp API configuration
      */
@@ -12,6 +12,10 @@ import java.util.List;
 
 public class ClientSpecification {
 
+    /**
+     * Substring search with LIKE on every column: a full table scan per search. Used where the
+     * FULLTEXT index is not available (app.search.fulltext=false).
+     */
     public static Specification<Client> filterClients(String searchTerm, String type) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -39,4 +43,25 @@ public class ClientSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Clients among the ids found by the full-text search (SearchService), optionally of one type.
+     */
+    public static Specification<Client> filterClients(List<Long> matchingIds, String type) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Filtrare după tip
+            if (StringUtils.hasText(type) && !type.equals("all")) {
+                predicates.add(criteriaBuilder.equal(root.get("type"), type));
+            }
+
+            // Doar clienții găsiți de căutare; niciun rezultat înseamnă listă goală
+            predicates.add(matchingIds.isEmpty()
+                    ? criteriaBuilder.disjunction()
+                    : root.get("id").in(matchingIds));
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 }
@@ -0,0 +1,95 @@
+package com.example.backend.specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.backend.util.KeysetCursor;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+public class KeysetSpecification {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Page size of a keyset listing: at least 1, and clamped to {@link #MAX_PAGE_SIZE} so a
+     * single request cannot pull the whole table.
+     */
+    public static int pageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Sort used by keyset listings: the requested field, then id in the same direction,
+     * so that every row has a unique position.
+     */
+    public static Sort sort(String sortBy, boolean ascending) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortBy);
+        return "id".equals(sortBy) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Decodes a cursor token and checks it was issued for the same sort as the current request.
+     */
+    public static <T> Specification<T> after(String token, String sortBy, boolean ascending) {
+        KeysetCursor cursor = KeysetCursor.decode(token);
+        if (!cursor.matches(sortBy, ascending)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        return after(cursor);
+    }
+
+    /**
+     * Rows strictly after the cursor position in {@link #sort} order.
+     * MySQL puts NULLs first when ascending and last when descending, and so does this predicate.
+     */
+    public static <T> Specification<T> after(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> id = root.get("id");
+            Predicate idAfter = cursor.ascending()
+                    ? criteriaBuilder.greaterThan(id, cursor.id())
+                    : criteriaBuilder.lessThan(id, cursor.id());
+
+            if ("id".equals(cursor.sortBy())) {
+                return idAfter;
+            }
+
+            Path<Comparable<Object>> field = root.get(cursor.sortBy());
+            if (cursor.value() == null) {
+                // Cursor sits inside the NULL group
+                return cursor.ascending()
+                        ? criteriaBuilder.or(criteriaBuilder.isNotNull(field), criteriaBuilder.and(criteriaBuilder.isNull(field), idAfter))
+                        : criteriaBuilder.and(criteriaBuilder.isNull(field), idAfter);
+            }
+
+            Comparable<Object> value = convert(cursor.value(), field.getJavaType());
+            Predicate sameValue = criteriaBuilder.and(criteriaBuilder.equal(field, value), idAfter);
+            return cursor.ascending()
+                    ? criteriaBuilder.or(criteriaBuilder.greaterThan(field, value), sameValue)
+                    : criteriaBuilder.or(criteriaBuilder.lessThan(field, value), sameValue, criteriaBuilder.isNull(field));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> convert(String value, Class<?> type) {
+        try {
+            if (type == LocalDateTime.class) {
+                return (Comparable<Object>) (Comparable<?>) LocalDateTime.parse(value);
+            }
+            if (type == LocalDate.class) {
+                return (Comparable<Object>) (Comparable<?>) LocalDate.parse(value);
+            }
+            return (Comparable<Object>) DefaultConversionService.getSharedInstance().convert(value, type);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
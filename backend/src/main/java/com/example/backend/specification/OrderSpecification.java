@@ -17,6 +17,16 @@ import java.util.List;
 
 public class OrderSpecification {
 
+    /**
+     * What a search term matched, resolved up front by SearchService: an order id, the ids of
+     * matching clients and the matching statuses. An order matches if any of them applies.
+     */
+    public record SearchMatches(Long orderId, List<Long> clientIds, List<String> statuses) {}
+
+    /**
+     * Substring search with LIKE on the order id, client name and status: a full scan per
+     * search. Used where the FULLTEXT index is not available (app.search.fulltext=false).
+     */
     public static Specification<Order> filterOrders(String searchTerm, String status, Long deviceId) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -72,4 +82,26 @@ public class OrderSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Same filters as {@link #filterOrders(String, String, Long)}, with the search already
+     * resolved to ids and statuses, so every predicate can use an index.
+     */
+    public static Specification<Order> filterOrders(SearchMatches matches, String status, Long deviceId) {
+        Specification<Order> searched = (root, query, criteriaBuilder) -> {
+            List<Predicate> searchPredicates = new ArrayList<>();
+            if (matches.orderId() != null) {
+                searchPredicates.add(criteriaBuilder.equal(root.get("id"), matches.orderId()));
+            }
+            if (!matches.clientIds().isEmpty()) {
+                searchPredicates.add(root.get("client").get("id").in(matches.clientIds()));
+            }
+            if (!matches.statuses().isEmpty()) {
+                searchPredicates.add(root.get("status").in(matches.statuses()));
+            }
+            // Combinăm criteriile de căutare cu OR; fără niciun criteriu nu se potrivește nimic
+            return criteriaBuilder.or(searchPredicates.toArray(new Predicate[0]));
+        };
+        return searched.and(filterOrders((String) null, status, deviceId));
+    }
 }
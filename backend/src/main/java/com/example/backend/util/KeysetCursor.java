@@ -0,0 +1,47 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset (seek) listing: the sort field, its direction,
+ * the row's value for that field and its id as tiebreaker. Sent to clients as an opaque token.
+ */
+public record KeysetCursor(String sortBy, boolean ascending, String value, Long id) {
+
+    private static final String SEPARATOR = "\n";
+    private static final String VALUE_PREFIX = "=";
+
+    public static KeysetCursor of(String sortBy, boolean ascending, Object value, Long id) {
+        return new KeysetCursor(sortBy, ascending, value != null ? value.toString() : null, id);
+    }
+
+    public String encode() {
+        // The value goes last so it may contain the separator; the prefix tells null apart from ""
+        String raw = String.join(SEPARATOR,
+                sortBy,
+                ascending ? "asc" : "desc",
+                String.valueOf(id),
+                value != null ? VALUE_PREFIX + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4 || !(parts[1].equals("asc") || parts[1].equals("desc"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String value = parts[3].startsWith(VALUE_PREFIX) ? parts[3].substring(VALUE_PREFIX.length()) : null;
+            return new KeysetCursor(parts[0], parts[1].equals("asc"), value, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Covers bad Base64 and a non-numeric id as well
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public boolean matches(String sortBy, boolean ascending) {
+        return this.sortBy.equals(sortBy) && this.ascending == ascending;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.util;
+
+public class PhoneNumbers {
+    private static final String DEFAULT_COUNTRY_CODE = "40"; // Romania
+    private static final int NATIONAL_LENGTH = 9;           // Romanian number without the leading 0
+
+    /**
+     * Phone number in E.164 format (e.g. +40712345678), or null when the input is empty or not a
+     * phone number. Spaces, dashes, dots, slashes and parentheses are ignored. Numbers with a
+     * + or 00 prefix may have any country code and 8 to 15 digits; all others are taken as
+     * Romanian and must have the full national length (0722 123 456, 40722123456 or 722123456).
+     */
+    public static String toE164(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        boolean plus = false;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == '+' && digits.isEmpty() && !plus) {
+                plus = true;
+            } else if (" -./()".indexOf(c) < 0) {
+                return null;
+            }
+        }
+
+        if (plus) {
+            return international(digits.toString());
+        }
+        if (digits.indexOf("00") == 0) {
+            return international(digits.substring(2));
+        }
+
+        String national;
+        if (digits.length() == NATIONAL_LENGTH + 1 && digits.charAt(0) == '0') {
+            national = digits.substring(1);
+        } else if (digits.length() == DEFAULT_COUNTRY_CODE.length() + NATIONAL_LENGTH
+                && digits.indexOf(DEFAULT_COUNTRY_CODE) == 0) {
+            national = digits.substring(DEFAULT_COUNTRY_CODE.length());
+        } else if (digits.length() == NATIONAL_LENGTH) {
+            national = digits.toString();
+        } else {
+            return null;
+        }
+        if (national.charAt(0) == '0') {
+            return null;
+        }
+        return "+" + DEFAULT_COUNTRY_CODE + national;
+    }
+
+    // E.164: country code (never starting with 0) and subscriber number, at most 15 digits.
+    // Lengths differ per country, so only the overall range is checked
+    private static String international(String number) {
+        if (number.length() < 8 || number.length() > 15 || number.charAt(0) == '0') {
+            return null;
+        }
+        return "+" + number;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.backend.util;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Path-compressed (radix) trie from string keys to long ids, for prefix lookups. A node exists
+ * only where keys branch or end, so there are at most about two nodes per key, and edges,
+ * children and ids are plain arrays rather than maps. Not thread-safe: callers guard it.
+ */
+public class PrefixTrie {
+    private static final String[] NO_EDGES = {};
+    private static final Node[] NO_CHILDREN = {};
+    private static final long[] NO_IDS = {};
+
+    private static final class Node {
+        String[] edges = NO_EDGES;      // labels of the edges to the children, sorted by first character
+        Node[] children = NO_CHILDREN;
+        long[] ids = NO_IDS;            // ids of the keys ending here, sorted
+    }
+
+    private Node root = new Node();
+    private int keyCount;
+
+    public void add(String key, long id) {
+        Node node = root;
+        String rest = key;
+        while (!rest.isEmpty()) {
+            int i = childIndex(node, rest.charAt(0));
+            if (i < 0) {
+                Node leaf = new Node();
+                leaf.ids = new long[] {id};
+                insertChild(node, -i - 1, rest, leaf);
+                keyCount++;
+                return;
+            }
+            String edge = node.edges[i];
+            int common = commonPrefixLength(edge, rest);
+            if (common < edge.length()) {
+                // Split the edge: node -(edge[0, common))-> middle -(edge[common, ...))-> old child
+                Node middle = new Node();
+                middle.edges = new String[] {edge.substring(common)};
+                middle.children = new Node[] {node.children[i]};
+                node.edges[i] = edge.substring(0, common);
+                node.children[i] = middle;
+            }
+            node = node.children[i];
+            rest = rest.substring(common);
+        }
+        int at = Arrays.binarySearch(node.ids, id);
+        if (at < 0) {
+            node.ids = insert(node.ids, -at - 1, id);
+            keyCount++;
+        }
+    }
+
+    public void remove(String key, long id) {
+        remove(root, key, id);
+    }
+
+    /**
+     * Adds to {@code into} the ids of keys starting with the prefix, until it holds {@code limit}
+     * ids. Keys are visited depth first in alphabetical (char) order, a key before its
+     * extensions ("pop" before "popescu"); ids of the same key in ascending order.
+     */
+    public void collect(String prefix, int limit, Set<Long> into) {
+        Node node = root;
+        String rest = prefix;
+        while (!rest.isEmpty()) {
+            int i = childIndex(node, rest.charAt(0));
+            if (i < 0) {
+                return;
+            }
+            String edge = node.edges[i];
+            if (rest.length() <= edge.length()) {
+                // The prefix ends inside this edge: the whole subtree below it matches
+                if (!edge.startsWith(rest)) {
+                    return;
+                }
+                rest = "";
+            } else {
+                if (!rest.startsWith(edge)) {
+                    return;
+                }
+                rest = rest.substring(edge.length());
+            }
+            node = node.children[i];
+        }
+        collectSubtree(node, limit, into);
+    }
+
+    public void clear() {
+        root = new Node();
+        keyCount = 0;
+    }
+
+    // Distinct (key, id) pairs
+    public int size() {
+        return keyCount;
+    }
+
+    // True when the node is left without ids and children, so the parent can drop it
+    private boolean remove(Node node, String rest, long id) {
+        if (rest.isEmpty()) {
+            int at = Arrays.binarySearch(node.ids, id);
+            if (at >= 0) {
+                node.ids = delete(node.ids, at);
+                keyCount--;
+            }
+        } else {
+            int i = childIndex(node, rest.charAt(0));
+            if (i < 0 || !rest.startsWith(node.edges[i])) {
+                return false;
+            }
+            String edge = node.edges[i];
+            Node child = node.children[i];
+            if (remove(child, rest.substring(edge.length()), id)) {
+                deleteChild(node, i);
+            } else if (child.ids.length == 0 && child.children.length == 1) {
+                // The child only passes through now: merge it into the edge
+                node.edges[i] = edge + child.edges[0];
+                node.children[i] = child.children[0];
+            }
+        }
+        return node != root && node.ids.length == 0 && node.children.length == 0;
+    }
+
+    private static boolean collectSubtree(Node node, int limit, Set<Long> into) {
+        for (long id : node.ids) {
+            into.add(id);
+            if (into.size() >= limit) {
+                return true;
+            }
+        }
+        for (Node child : node.children) {
+            if (collectSubtree(child, limit, into)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Index of the child whose edge starts with c, or -(insertion point) - 1
+    private static int childIndex(Node node, char c) {
+        int low = 0;
+        int high = node.edges.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = node.edges[mid].charAt(0);
+            if (first < c) {
+                low = mid + 1;
+            } else if (first > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node node, int at, String edge, Node child) {
+        int length = node.edges.length;
+        String[] edges = new String[length + 1];
+        Node[] children = new Node[length + 1];
+        System.arraycopy(node.edges, 0, edges, 0, at);
+        System.arraycopy(node.children, 0, children, 0, at);
+        edges[at] = edge;
+        children[at] = child;
+        System.arraycopy(node.edges, at, edges, at + 1, length - at);
+        System.arraycopy(node.children, at, children, at + 1, length - at);
+        node.edges = edges;
+        node.children = children;
+    }
+
+    private static void deleteChild(Node node, int at) {
+        int length = node.edges.length;
+        if (length == 1) {
+            node.edges = NO_EDGES;
+            node.children = NO_CHILDREN;
+            return;
+        }
+        String[] edges = new String[length - 1];
+        Node[] children = new Node[length - 1];
+        System.arraycopy(node.edges, 0, edges, 0, at);
+        System.arraycopy(node.children, 0, children, 0, at);
+        System.arraycopy(node.edges, at + 1, edges, at, length - at - 1);
+        System.arraycopy(node.children, at + 1, children, at, length - at - 1);
+        node.edges = edges;
+        node.children = children;
+    }
+
+    private static long[] insert(long[] ids, int at, long id) {
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, at);
+        result[at] = id;
+        System.arraycopy(ids, at, result, at + 1, ids.length - at);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, int at) {
+        if (ids.length == 1) {
+            return NO_IDS;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, at);
+        System.arraycopy(ids, at + 1, result, at, ids.length - at - 1);
+        return result;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
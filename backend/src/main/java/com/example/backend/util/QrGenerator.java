@@ -6,16 +6,21 @@ import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Path;
 
 public class QrGenerator {
-    public static void generateQrCode(String text, String filePath) throws WriterException, IOException {
+    private static final int SIZE = 300;
+    // Change whenever the rendered image changes (size, format, error correction), so ETags change with it
+    public static final String RENDER_VERSION = "png-300-v1";
+
+    public static byte[] renderPng(String text) throws WriterException, IOException {
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(text, BarcodeFormat.QR_CODE, 300, 300);
+        BitMatrix bitMatrix = qrCodeWriter.encode(text, BarcodeFormat.QR_CODE, SIZE, SIZE);
 
-        Path path = new File(filePath).toPath();
-        MatrixToImageWriter.writeToPath(bitMatrix, "PNG", path);
+        // A 300x300 two-colour PNG compresses to well under 1 KB
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", out);
+        return out.toByteArray();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+-- Monthly order counts per status, keyed by the month the order was created in.
+-- Backfilled by OrderMonthlyRollupService on first start (or POST /api/dashboard/monthly-orders/rebuild).
+
+CREATE TABLE IF NOT EXISTS order_monthly_rollup (
+    month_start DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    order_count BIGINT NOT NULL,
+    PRIMARY KEY (month_start, status)
+);
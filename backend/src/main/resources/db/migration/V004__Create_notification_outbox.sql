@@ -0,0 +1,20 @@
+-- WhatsApp messages queued in the same transaction as the order change that triggers them.
+-- Delivered by NotificationDispatcher; status is PENDING, SENDING, SENT or DEAD.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    recipient VARCHAR(20) NOT NULL,
+    client_name VARCHAR(255) NOT NULL,
+    device_names VARCHAR(1000),
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    locked_at DATETIME(6),
+    last_error VARCHAR(1000),
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_notification_outbox_due (status, next_attempt_at)
+);
@@ -0,0 +1,17 @@
+-- Read model for the public order page (QR scan): one row per order with the client
+-- fields, order status and the device list as JSON.
+-- Backfilled by PublicOrderViewService on first start (or POST /api/orders/public-view/rebuild).
+
+CREATE TABLE IF NOT EXISTS public_order_view (
+    order_id BIGINT NOT NULL,
+    client_name VARCHAR(201),
+    client_phone VARCHAR(15),
+    client_email VARCHAR(100),
+    created_at DATETIME,
+    status VARCHAR(50),
+    notes VARCHAR(500),
+    device_count BIGINT NOT NULL,
+    devices_json TEXT,
+    updated_at DATETIME NOT NULL,
+    PRIMARY KEY (order_id)
+);
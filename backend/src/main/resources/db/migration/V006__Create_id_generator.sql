@@ -0,0 +1,19 @@
+-- Table-backed id generator (pooled-lo, blocks of 50) for client, orders, device, notification
+-- and order_document, so Hibernate can batch their inserts. Each row holds the last id handed out.
+-- IdGeneratorSeeder re-checks these values against MAX(id) on every start.
+
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.last_id FROM (
+    SELECT 'client' AS sequence_name, COALESCE(MAX(id), 0) AS last_id FROM client
+    UNION ALL SELECT 'orders', COALESCE(MAX(id), 0) FROM orders
+    UNION ALL SELECT 'device', COALESCE(MAX(id), 0) FROM device
+    UNION ALL SELECT 'notification', COALESCE(MAX(id), 0) FROM notification
+    UNION ALL SELECT 'order_document', COALESCE(MAX(id), 0) FROM order_document
+) AS seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.last_id);
@@ -0,0 +1,59 @@
+-- Composite and covering indexes for the hot query shapes. Replaces backend/manual_indexes.sql.
+-- Every statement checks information_schema first, so the migration also applies cleanly where
+-- the manual script (or Hibernate) already created some of these indexes.
+-- IndexVerifier checks on startup that these indexes exist.
+
+-- Order list filtered by status and sorted by date, counts by status and period (dashboard);
+-- with client_id the list query reads its order columns from the index alone
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_status_created_at'),
+              'SELECT 1', 'CREATE INDEX idx_orders_status_created_at ON orders (status, created_at, client_id)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Unfiltered order list sorted by date (offset and keyset), orders per period
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_created_at_client'),
+              'SELECT 1', 'CREATE INDEX idx_orders_created_at_client ON orders (created_at, client_id)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- findOrderLogByOrderId: an order's log, newest first
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'order_log' AND index_name = 'idx_order_log_order_timestamp'),
+              'SELECT 1', 'CREATE INDEX idx_order_log_order_timestamp ON order_log (order_id, `timestamp` DESC)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Device count per order in the order list, status synchronization (status counts per order)
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'device' AND index_name = 'idx_device_order_status'),
+              'SELECT 1', 'CREATE INDEX idx_device_order_status ON device (order_id, status)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- QR label batches by intake date: device and order ids straight from the index
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'device' AND index_name = 'idx_device_received_order'),
+              'SELECT 1', 'CREATE INDEX idx_device_received_order ON device (received_date, order_id)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Client list sorted by name
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'client' AND index_name = 'idx_client_name_surname'),
+              'SELECT 1', 'CREATE INDEX idx_client_name_surname ON client (name, surname)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Single-column indexes made redundant by the composites above (leftmost column is the same)
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_status'),
+              'DROP INDEX idx_orders_status ON orders', 'SELECT 1');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_created_at'),
+              'DROP INDEX idx_orders_created_at ON orders', 'SELECT 1');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'device' AND index_name = 'idx_device_order_id'),
+              'DROP INDEX idx_device_order_id ON device', 'SELECT 1');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'order_log' AND index_name = 'idx_order_log_order_id'),
+              'DROP INDEX idx_order_log_order_id ON order_log', 'SELECT 1');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,14 @@
+-- FULLTEXT index for client search (SearchService), replacing the '%term%' LIKE scans over
+-- name, surname, email, phone and cui. The ngram parser (MySQL 5.7.6+, ngram_token_size = 2)
+-- indexes every two-character sequence, so parts of names, phone digits and CUIs match too.
+
+-- With the default InnoDB stopword list the ngram parser drops every token containing a
+-- stopword ('a', 'i', 'on', 'in', ...). The setting is stored with the index when it is created.
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'client' AND index_name = 'ftx_client_search'),
+              'SELECT 1', 'CREATE FULLTEXT INDEX ftx_client_search ON client (name, surname, email, phone, cui) WITH PARSER ngram');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET SESSION innodb_ft_enable_stopword = ON;
@@ -0,0 +1,20 @@
+-- Normalized phone number (E.164, e.g. +40712345678) next to the phone as typed. Client computes
+-- it on every write; ClientPhoneBackfill fills it for rows written before this column existed.
+-- Exact-match lookups (caller ID) and WhatsApp recipients use it through idx_client_phone_e164.
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+                      WHERE table_schema = DATABASE() AND table_name = 'client' AND column_name = 'phone_e164'),
+              'SELECT 1', 'ALTER TABLE client ADD COLUMN phone_e164 VARCHAR(16) NULL');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Not unique: several clients (family, colleagues) can share a number
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'client' AND index_name = 'idx_client_phone_e164'),
+              'SELECT 1', 'CREATE INDEX idx_client_phone_e164 ON client (phone_e164)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- The index on the phone as typed (from the old manual_indexes.sql) no longer serves any query
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'client' AND index_name = 'idx_client_phone'),
+              'DROP INDEX idx_client_phone ON client', 'SELECT 1');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,161 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.backend.domain.NotificationOutbox;
+import com.example.backend.repo.NotificationOutboxRepo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Delivers outbox messages through the real WhatsAppNotificationService against a local HTTP
+ * server standing in for the WhatsApp Cloud API, and checks what the dispatcher records.
+ */
+class NotificationDispatcherTest {
+    private static final long MESSAGE_ID = 7L;
+
+    private record Received(String method, String path, String authorization, String body) {
+    }
+
+    private final BlockingQueue<Received> requests = new LinkedBlockingQueue<>();
+    private volatile int responseStatus = 200;
+    private volatile String responseBody = "{\"messages\":[{\"id\":\"wamid.1\"}]}";
+
+    private HttpServer stub;
+    private NotificationOutboxService outboxService;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(new Received(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst("Authorization"), body));
+            byte[] response = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        stub.start();
+
+        WhatsAppNotificationService whatsApp = new WhatsAppNotificationService(new RestTemplate());
+        ReflectionTestUtils.setField(whatsApp, "whatsappApiUrl", "http://127.0.0.1:" + stub.getAddress().getPort() + "/v18.0");
+        ReflectionTestUtils.setField(whatsApp, "phoneNumberId", "123456");
+        ReflectionTestUtils.setField(whatsApp, "accessToken", "test-token");
+        ReflectionTestUtils.setField(whatsApp, "templateName", "order_completed");
+
+        outboxService = mock(NotificationOutboxService.class);
+        when(outboxService.claimDue(anyInt())).thenReturn(List.of(MESSAGE_ID), List.of());
+        when(outboxService.getMessage(MESSAGE_ID)).thenReturn(Optional.of(message()));
+        when(outboxService.markFailed(eq(MESSAGE_ID), anyString(), anyBoolean())).thenReturn(NotificationOutbox.PENDING);
+
+        dispatcher = new NotificationDispatcher(outboxService, whatsApp, mock(NotificationOutboxRepo.class),
+                new SimpleMeterRegistry(), 1, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        stub.stop(0);
+    }
+
+    @Test
+    void sendsTemplateMessageAndMarksItSent() throws Exception {
+        dispatcher.dispatch();
+
+        verify(outboxService, timeout(5000)).markSent(MESSAGE_ID);
+        verify(outboxService, never()).markFailed(eq(MESSAGE_ID), anyString(), anyBoolean());
+
+        Received request = requests.poll(5, TimeUnit.SECONDS);
+        assertThat(request).isNotNull();
+        assertThat(request.method()).isEqualTo("POST");
+        assertThat(request.path()).isEqualTo("/v18.0/123456/messages");
+        assertThat(request.authorization()).isEqualTo("Bearer test-token");
+
+        JsonNode body = new ObjectMapper().readTree(request.body());
+        assertThat(body.path("messaging_product").asText()).isEqualTo("whatsapp");
+        assertThat(body.path("to").asText()).isEqualTo("+40722123456");
+        assertThat(body.path("template").path("name").asText()).isEqualTo("order_completed");
+        assertThat(body.path("template").path("language").path("code").asText()).isEqualTo("ro");
+        JsonNode parameters = body.path("template").path("components").path(0).path("parameters");
+        assertThat(parameters.findValuesAsText("text"))
+                .containsExactly("Ion Popescu", "42", "Lenovo ThinkPad T14, HP LaserJet 1020");
+    }
+
+    @Test
+    void retriesWhenThrottled() {
+        respondWith(429, "{\"error\":{\"code\":130429}}");
+
+        dispatcher.dispatch();
+
+        verify(outboxService, timeout(5000)).markFailed(eq(MESSAGE_ID), anyString(), eq(true));
+        verify(outboxService, never()).markSent(MESSAGE_ID);
+    }
+
+    @Test
+    void retriesServerErrors() {
+        respondWith(503, "{}");
+
+        dispatcher.dispatch();
+
+        verify(outboxService, timeout(5000)).markFailed(eq(MESSAGE_ID), anyString(), eq(true));
+        verify(outboxService, never()).markSent(MESSAGE_ID);
+    }
+
+    @Test
+    void givesUpOnRejectedRequests() {
+        respondWith(400, "{\"error\":{\"code\":131026}}");
+
+        dispatcher.dispatch();
+
+        verify(outboxService, timeout(5000)).markFailed(eq(MESSAGE_ID), anyString(), eq(false));
+        verify(outboxService, never()).markSent(MESSAGE_ID);
+    }
+
+    private void respondWith(int status, String body) {
+        responseStatus = status;
+        responseBody = body;
+    }
+
+    private static NotificationOutbox message() {
+        NotificationOutbox message = new NotificationOutbox();
+        message.setId(MESSAGE_ID);
+        message.setOrderId(42L);
+        message.setType(NotificationOutboxService.ORDER_COMPLETION);
+        message.setRecipient("+40722123456");
+        message.setClientName("Ion Popescu");
+        message.setDeviceNames("Lenovo ThinkPad T14, HP LaserJet 1020");
+        return message;
+    }
+}
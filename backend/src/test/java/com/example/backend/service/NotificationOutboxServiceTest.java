@@ -0,0 +1,77 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.example.backend.domain.Client;
+import com.example.backend.domain.Device;
+import com.example.backend.domain.NotificationOutbox;
+import com.example.backend.domain.Order;
+import com.example.backend.repo.NotificationOutboxRepo;
+
+class NotificationOutboxServiceTest {
+    private final NotificationOutboxRepo outboxRepo = mock(NotificationOutboxRepo.class);
+    private final NotificationOutboxService outboxService = new NotificationOutboxService(outboxRepo);
+
+    @Test
+    void truncatesDeviceNamesToTheColumnLength() {
+        List<Device> devices = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Device device = new Device();
+            device.setBrand("Lenovo");
+            device.setModel("ThinkPad T14 Gen " + i);
+            devices.add(device);
+        }
+
+        NotificationOutbox message = enqueue(devices);
+
+        assertThat(message.getDeviceNames()).hasSize(NotificationOutbox.DEVICE_NAMES_LENGTH)
+                .startsWith("Lenovo ThinkPad T14 Gen 0, Lenovo ThinkPad T14 Gen 1, ")
+                .endsWith("…");
+    }
+
+    @Test
+    void keepsShortDeviceNames() {
+        Device device = new Device();
+        device.setBrand("HP");
+        device.setModel("LaserJet 1020");
+
+        NotificationOutbox message = enqueue(List.of(device));
+
+        assertThat(message.getDeviceNames()).isEqualTo("HP LaserJet 1020");
+        assertThat(message.getRecipient()).isEqualTo("+40722123456");
+    }
+
+    @Test
+    void truncateDoesNotSplitSurrogatePairs() {
+        String text = "a".repeat(8) + "📱" + "b";
+
+        assertThat(NotificationOutboxService.truncate(text, 10)).isEqualTo("a".repeat(8) + "…");
+        assertThat(NotificationOutboxService.truncate(text, 11)).isEqualTo(text);
+        assertThat(NotificationOutboxService.truncate(null, 10)).isNull();
+    }
+
+    private NotificationOutbox enqueue(List<Device> devices) {
+        Client client = new Client();
+        client.setName("Ion");
+        client.setSurname("Popescu");
+        client.setPhone("0722 123 456");
+        Order order = new Order();
+        order.setId(42L);
+        order.setClient(client);
+        order.setDevices(devices);
+
+        outboxService.enqueueOrderCompletion(order);
+
+        ArgumentCaptor<NotificationOutbox> saved = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepo).save(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PhoneNumbersTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "0722123456      | +40722123456",
+            "0722 123 456    | +40722123456",
+            "0722-123-456    | +40722123456",
+            "(0264) 123.456  | +40264123456",
+            "0264/123456     | +40264123456",
+            "40722123456     | +40722123456",
+            "722123456       | +40722123456",
+            "+40722123456    | +40722123456",
+            "+40 722 123 456 | +40722123456",
+            "0040722123456   | +40722123456",
+            "+4915112345678  | +4915112345678",
+            "004915112345678 | +4915112345678",
+            "+12025550123    | +12025550123",
+    })
+    void normalizesToE164(String phone, String expected) {
+        assertThat(PhoneNumbers.toE164(phone)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "722123",            // too short for a Romanian number
+            "072212345",         // trunk 0 and only 8 digits
+            "07221234567",       // trunk 0 and 10 digits
+            "4072212345",        // country code and only 8 digits
+            "407221234567",      // country code and 10 digits
+            "+4072212",          // international, fewer than 8 digits
+            "+4072212345678901", // international, more than 15 digits
+            "+0722123456",       // country codes never start with 0
+            "000722123456",      // same after a 00 prefix
+    })
+    void rejectsNumbersOfTheWrongLength(String phone) {
+        assertThat(PhoneNumbers.toE164(phone)).isNull();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   ", "-", "0722 123 456 ext 7", "+40+722123456", "0722123456+", "n/a"})
+    void rejectsInputThatIsNotAPhoneNumber(String phone) {
+        assertThat(PhoneNumbers.toE164(phone)).isNull();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTest {
+    private final PrefixTrie trie = new PrefixTrie();
+
+    @Test
+    void findsKeysAcrossASplitEdge() {
+        trie.add("popescu", 3);
+        trie.add("pop", 1);     // splits "popescu" into "pop" + "escu"
+        trie.add("popa", 2);    // branches off below the split
+
+        assertThat(collect("p", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(collect("pop", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(collect("popa", 10)).containsExactly(2L);
+        assertThat(collect("pope", 10)).containsExactly(3L);
+        assertThat(collect("popescu", 10)).containsExactly(3L);
+        assertThat(collect("popescul", 10)).isEmpty();
+        assertThat(collect("pox", 10)).isEmpty();
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsTheOtherKeysAfterARemoveMergesEdges() {
+        trie.add("pop", 1);
+        trie.add("popa", 2);
+        trie.add("popescu", 3);
+
+        trie.remove("popa", 2);   // "pop" keeps a single child: "escu"
+        trie.remove("pop", 1);    // "pop" only passes through now and merges into "popescu"
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(collect("pop", 10)).containsExactly(3L);
+        assertThat(collect("popes", 10)).containsExactly(3L);
+        assertThat(collect("popescu", 10)).containsExactly(3L);
+        assertThat(collect("popa", 10)).isEmpty();
+
+        trie.add("popa", 4);      // splits the merged edge again
+        assertThat(collect("pop", 10)).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void keepsAKeyUntilItsLastIdIsRemoved() {
+        trie.add("ion", 5);
+        trie.add("ion", 7);
+
+        trie.remove("ion", 5);
+
+        assertThat(collect("io", 10)).containsExactly(7L);
+        trie.remove("ion", 7);
+        assertThat(collect("io", 10)).isEmpty();
+        assertThat(trie.size()).isZero();
+    }
+
+    @Test
+    void removingWhatWasNeverAddedIsANoOp() {
+        trie.add("pop", 1);
+        trie.add("popescu", 3);
+
+        trie.remove("pop", 2);        // key exists, id does not
+        trie.remove("popa", 1);       // branches off inside an existing edge
+        trie.remove("po", 1);         // ends inside an edge
+        trie.remove("popescul", 3);   // runs past the end of a key
+        trie.remove("ionescu", 1);    // no edge at all
+
+        assertThat(trie.size()).isEqualTo(2);
+        assertThat(collect("po", 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void addingTheSamePairTwiceCountsOnce() {
+        trie.add("pop", 1);
+        trie.add("pop", 1);
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(collect("pop", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        trie.add("pop", 1);
+        trie.add("popa", 2);
+        trie.add("popescu", 3);
+        trie.add("popovici", 4);
+
+        assertThat(collect("pop", 2)).containsExactly(1L, 2L);
+        assertThat(collect("pop", 1)).containsExactly(1L);
+
+        // Ids already in the set count toward the limit
+        Set<Long> into = new LinkedHashSet<>(Set.of(99L));
+        trie.collect("pop", 3, into);
+        assertThat(into).containsExactly(99L, 1L, 2L);
+    }
+
+    @Test
+    void visitsAKeyBeforeItsExtensionsAndSiblingsInCharOrder() {
+        trie.add("popovici", 6);
+        trie.add("popescu", 5);
+        trie.add("popa", 4);
+        trie.add("pop", 9);
+        trie.add("pop", 2);
+        trie.add("pa", 8);
+
+        assertThat(collect("p", 10)).containsExactly(8L, 2L, 9L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void clearDropsEverything() {
+        trie.add("pop", 1);
+        trie.add("ion", 2);
+
+        trie.clear();
+
+        assertThat(trie.size()).isZero();
+        assertThat(collect("", 10)).isEmpty();
+    }
+
+    private Set<Long> collect(String prefix, int limit) {
+        Set<Long> into = new LinkedHashSet<>();
+        trie.collect(prefix, limit, into);
+        return into;
+    }
+}